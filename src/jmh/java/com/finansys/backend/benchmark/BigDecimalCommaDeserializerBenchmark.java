@@ -0,0 +1,59 @@
+package com.finansys.backend.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.finansys.backend.json.deserializer.BigDecimalCommaDeserializer;
+
+/*
+ * Custo de converter o valor "1234,56" recebido nos lançamentos. O parser é criado a
+ * cada chamada, como acontece na leitura de cada corpo de requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigDecimalCommaDeserializerBenchmark {
+
+	@Param({ "\"1234,56\"", "\"1234.56\"", "\"9999999999,99\"" })
+	private String json;
+	
+	private JsonFactory jsonFactory;
+	
+	private BigDecimalCommaDeserializer deserializer;
+	
+	@Setup
+	public void setUp() {
+		
+		jsonFactory = new JsonFactory();
+		deserializer = new BigDecimalCommaDeserializer();
+	}
+	
+	@Benchmark
+	public BigDecimal deserialize() throws IOException {
+		
+		try (JsonParser parser = jsonFactory.createParser(json)) {
+			
+			parser.nextToken();
+			
+			return deserializer.deserialize(parser, null);
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.finansys.backend.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Teste de carga dos endpoints de EntryController contra uma aplicação já em execução;
+ * grava vazão, p50 e p99 de cada endpoint em JSON. O perfil experimental virtual-threads
+ * só muda o modelo de threads em Java 21+; em Java 17, o runtime do projeto, as duas
+ * execuções medem threads de plataforma e não servem como comparação. Nenhuma comparação
+ * foi registrada até o projeto migrar para Java 21:
+ *
+ *   mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.finansys.backend.benchmark.EntryEndpointsLoadTest \
+ *     -Dexec.args="--mode=platform --concurrency=200 --duration=30"
+ *
+ * Argumentos: --base-url, --email, --password, --concurrency, --duration (segundos),
+ * --mode (rótulo gravado no resultado em target/load-test-<mode>.json).
+ */
+public class EntryEndpointsLoadTest {
+
+	private static final List<String> ENDPOINTS = List.of(
+			"/entries/paginated?page=0&size=20",
+			"/entries/paginated/cursor?size=20",
+			"/entries/count",
+			"/entries/total/type/expense",
+			"/entries/overdue");
+	
+	public static void main(String[] args) throws Exception {
+		
+		Map<String, String> options = parseArgs(args);
+		
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/api");
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+		int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+		String mode = options.getOrDefault("mode", "platform");
+		
+		HttpClient client = HttpClient.newBuilder()
+				.executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 10)))
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		
+		String token = login(client, baseUrl, options.getOrDefault("email", "t@t.com"), options.getOrDefault("password", "secret123"));
+		
+		// Aquecimento curto antes da medição
+		run(client, baseUrl, token, concurrency, Math.min(5, durationSeconds));
+		
+		Map<String, Result> results = run(client, baseUrl, token, concurrency, durationSeconds);
+		
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("mode", mode);
+		report.put("concurrency", concurrency);
+		report.put("durationSeconds", durationSeconds);
+		
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		
+		results.forEach((endpoint, result) -> {
+			
+			Map<String, Object> summary = result.summary(durationSeconds);
+			endpoints.put(endpoint, summary);
+			
+			System.out.printf("%-40s %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  erros %d%n", endpoint,
+					summary.get("throughput"), summary.get("p50Ms"), summary.get("p99Ms"), summary.get("errors"));
+		});
+		
+		report.put("endpoints", endpoints);
+		
+		Path output = Path.of("target", "load-test-" + mode + ".json");
+		Files.createDirectories(output.getParent());
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+		
+		System.out.println("Resultado gravado em " + output.toAbsolutePath());
+		
+		System.exit(0);
+	}
+	
+	private static Map<String, Result> run(HttpClient client, String baseUrl, String token, int concurrency, int durationSeconds) throws Exception {
+		
+		Map<String, Result> results = new LinkedHashMap<>();
+		
+		for (String endpoint : ENDPOINTS) {
+			
+			results.put(endpoint, new Result());
+		}
+		
+		long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+		
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		List<Future<?>> futures = new ArrayList<>();
+		
+		for (int worker = 0; worker < concurrency; worker++) {
+			
+			int offset = worker;
+			
+			futures.add(workers.submit(() -> {
+				
+				for (int i = offset; System.nanoTime() < deadline; i++) {
+					
+					String endpoint = ENDPOINTS.get(i % ENDPOINTS.size());
+					
+					HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+							.header("Cookie", "token=" + token)
+							.timeout(Duration.ofSeconds(30))
+							.GET()
+							.build();
+					
+					long start = System.nanoTime();
+					
+					try {
+						
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						
+						results.get(endpoint).record(System.nanoTime() - start, response.statusCode() == 200);
+					} catch (IOException e) {
+						
+						results.get(endpoint).record(System.nanoTime() - start, false);
+					} catch (InterruptedException e) {
+						
+						Thread.currentThread().interrupt();
+						
+						return;
+					}
+				}
+			}));
+		}
+		
+		for (Future<?> future : futures) {
+			
+			future.get();
+		}
+		
+		workers.shutdown();
+		
+		return results;
+	}
+	
+	private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+		
+		ObjectMapper objectMapper = new ObjectMapper();
+		
+		String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+		
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		
+		if (response.statusCode() != 200) {
+			
+			throw new IllegalStateException("Falha no login (" + response.statusCode() + "): " + response.body());
+		}
+		
+		JsonNode json = objectMapper.readTree(response.body());
+		
+		return json.get("token").asText();
+	}
+	
+	private static Map<String, String> parseArgs(String[] args) {
+		
+		Map<String, String> options = new LinkedHashMap<>();
+		
+		for (String arg : args) {
+			
+			if (arg.startsWith("--") && arg.contains("=")) {
+				
+				options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+		}
+		
+		return options;
+	}
+	
+	// Latências em nanossegundos, acumuladas por endpoint
+	private static class Result {
+		
+		private long[] latencies = new long[1024];
+		
+		private int count;
+		
+		private final AtomicLong errors = new AtomicLong();
+		
+		private synchronized void record(long latencyNanos, boolean success) {
+			
+			if (!success) {
+				
+				errors.incrementAndGet();
+			}
+			
+			if (count == latencies.length) {
+				
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			
+			latencies[count++] = latencyNanos;
+		}
+		
+		private synchronized Map<String, Object> summary(int durationSeconds) {
+			
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("requests", count);
+			summary.put("errors", errors.get());
+			summary.put("throughput", (double) count / durationSeconds);
+			summary.put("p50Ms", percentile(sorted, 0.50));
+			summary.put("p99Ms", percentile(sorted, 0.99));
+			
+			return summary;
+		}
+		
+		private double percentile(long[] sorted, double percentile) {
+			
+			if (sorted.length == 0) {
+				
+				return 0;
+			}
+			
+			int index = (int) Math.ceil(percentile * sorted.length) - 1;
+			
+			return sorted[Math.max(index, 0)] / 1_000_000.0;
+		}
+	}
+}
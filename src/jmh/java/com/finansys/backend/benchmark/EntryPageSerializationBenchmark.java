@@ -0,0 +1,73 @@
+package com.finansys.backend.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finansys.backend.dto.response.EntryResponseDTO;
+
+/*
+ * Serialização de uma página de lançamentos, como devolvida por /entries/paginated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryPageSerializationBenchmark {
+
+	@Param({ "20", "100" })
+	private int pageSize;
+	
+	private ObjectMapper objectMapper;
+	
+	private Page<EntryResponseDTO> page;
+	
+	@Setup
+	public void setUp() {
+		
+		// Mesma configuração base do ObjectMapper da aplicação (JavaTimeModule, sem timestamps)
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		
+		List<EntryResponseDTO> content = new ArrayList<>(pageSize);
+		
+		LocalDateTime now = LocalDateTime.now();
+		
+		for (long i = 1; i <= pageSize; i++) {
+			
+			content.add(new EntryResponseDTO(i, "Lançamento " + i, "Descrição do lançamento " + i,
+					i % 2 == 0 ? "revenue" : "expense", new BigDecimal("1234.56"), LocalDate.of(2025, 1, 1).plusDays(i),
+					i % 3 == 0, i % 5 + 1, "Categoria " + (i % 5 + 1), now, now));
+		}
+		
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+	}
+	
+	@Benchmark
+	public byte[] serializePage() throws JsonProcessingException {
+		
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
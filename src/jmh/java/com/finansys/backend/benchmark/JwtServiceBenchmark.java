@@ -0,0 +1,70 @@
+package com.finansys.backend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finansys.backend.service.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Custo de validar o token JWT, feito pelo filtro de autenticação a cada requisição.
+ * Usa o segredo do perfil dev (o de application.yml tem menos de 256 bits).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	// Com 0 o cache descarta as entradas logo após inseri-las, aproximando a verificação completa (HMAC + parse) a cada chamada
+	@Param({ "0", "10000" })
+	private long claimsCacheMaxSize;
+	
+	private JwtService jwtService;
+	
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		
+		jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "jwtSecret", "xLGe6hb54PcRDv+DuJrdGDV2N0eCY4JEJYiMGVfeyVg=");
+		ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86400000L);
+		ReflectionTestUtils.setField(jwtService, "claimsCacheMaxSize", claimsCacheMaxSize);
+		ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(jwtService, "init");
+		
+		UserDetails userDetails = User.withUsername("benchmark@finansys.com").password("x").roles("USER").build();
+		
+		token = jwtService.generateTokenWithUserInfo(userDetails, 1L, "benchmark@finansys.com");
+	}
+	
+	@Benchmark
+	public boolean isTokenValid() {
+		
+		return jwtService.isTokenValid(token);
+	}
+	
+	@Benchmark
+	public String extractUsername() {
+		
+		return jwtService.extractUsername(token);
+	}
+}
@@ -0,0 +1,103 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.config.CategoryCacheProperties;
+import com.finansys.backend.dto.response.EntryResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Conversão de uma página de lançamentos em DTOs com o cache de categorias aquecido,
+ * ou seja, o custo de CPU das listagens depois da consulta ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryConversionBenchmark {
+
+	@Param({ "20", "100" })
+	private int pageSize;
+	
+	private EntryService entryService;
+	
+	private List<Entry> entries;
+	
+	@Setup
+	public void setUp() {
+		
+		CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+		
+		List<Object[]> categoryNames = new ArrayList<>();
+		
+		for (long id = 1; id <= 5; id++) {
+			
+			categoryNames.add(new Object[] { id, "Categoria " + id });
+		}
+		
+		Mockito.when(categoryRepository.findNamesByUserIdAndIdIn(Mockito.eq(1L), Mockito.anyCollection())).thenReturn(categoryNames);
+		
+		CurrentUser currentUser = Mockito.mock(CurrentUser.class);
+		Mockito.when(currentUser.getId()).thenReturn(1L);
+		
+		CategoryCache categoryCache = new CategoryCache();
+		ReflectionTestUtils.setField(categoryCache, "categoryRepository", categoryRepository);
+		ReflectionTestUtils.setField(categoryCache, "properties", new CategoryCacheProperties());
+		ReflectionTestUtils.setField(categoryCache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.invokeMethod(categoryCache, "init");
+		
+		entryService = new EntryService();
+		ReflectionTestUtils.setField(entryService, "categoryCache", categoryCache);
+		ReflectionTestUtils.setField(entryService, "currentUser", currentUser);
+		
+		entries = new ArrayList<>(pageSize);
+		
+		for (long i = 1; i <= pageSize; i++) {
+			
+			entries.add(Entry.builder()
+					.id(i)
+					.name("Lançamento " + i)
+					.type(i % 2 == 0 ? "revenue" : "expense")
+					.amount(BigDecimal.TEN)
+					.date(LocalDate.of(2025, 1, 1).plusDays(i))
+					.paid(i % 3 == 0)
+					.categoryId(i % 5 + 1)
+					.userId(1L)
+					.build());
+		}
+		
+		// Aquece o cache de categorias
+		entryService.convertToResponse(entries);
+	}
+	
+	@Benchmark
+	public List<EntryResponseDTO> convertToResponse() {
+		
+		return entryService.convertToResponse(entries);
+	}
+}
@@ -0,0 +1,89 @@
+-- Benchmark do particionamento de entries (migração V202610181700).
+--
+-- Cria duas cópias sintéticas da tabela com os mesmos dados e índices, uma comum
+-- (bench_plain) e outra particionada por ano (bench_partitioned), e mede as consultas
+-- mais frequentes de EntryRepository nas duas com EXPLAIN (ANALYZE, BUFFERS).
+-- Rode em um banco descartável, nunca no banco da aplicação:
+--
+--   createdb finansys_bench
+--   psql -d finansys_bench -v rows=50000000 -f src/jmh/sql/entries_partitioning_benchmark.sql
+--
+-- Com 50 milhões de linhas são necessários cerca de 25 GB livres em disco. As datas
+-- avançam com o id (2016 a 2026), como em uma tabela alimentada ao longo do tempo,
+-- então a tabela comum também tem as linhas de cada período próximas no disco.
+
+\set ON_ERROR_STOP on
+\timing on
+
+SELECT set_config('bench.rows', :'rows', false);
+
+DROP SCHEMA IF EXISTS bench_plain CASCADE;
+DROP SCHEMA IF EXISTS bench_partitioned CASCADE;
+CREATE SCHEMA bench_plain;
+CREATE SCHEMA bench_partitioned;
+
+CREATE TABLE bench_plain.entries (
+	id int8 NOT NULL,
+	"name" varchar(200) NOT NULL,
+	description varchar(1000) NULL,
+	amount numeric(12, 2) NOT NULL,
+	category_id int8 NOT NULL,
+	"date" date NOT NULL,
+	"type" varchar(20) NOT NULL,
+	paid bool NOT NULL,
+	created_at timestamp(6) NOT NULL,
+	updated_at timestamp(6) NULL
+);
+
+CREATE TABLE bench_partitioned.entries (LIKE bench_plain.entries) PARTITION BY RANGE ("date");
+
+DO $$
+BEGIN
+	FOR partition_year IN 2016..2026 LOOP
+
+		EXECUTE format('CREATE TABLE bench_partitioned.entries_%s PARTITION OF bench_partitioned.entries FOR VALUES FROM (%L) TO (%L)',
+				partition_year, make_date(partition_year, 1, 1), make_date(partition_year + 1, 1, 1));
+	END LOOP;
+END;
+$$;
+
+INSERT INTO bench_plain.entries
+SELECT g,
+       'Lançamento ' || g,
+       CASE WHEN g % 5 = 0 THEN 'Descrição ' || (g % 1000) END,
+       round((random() * 2000)::numeric, 2),
+       1 + g % 50,
+       DATE '2016-01-01' + (g * 4017 / current_setting('bench.rows')::bigint)::int,
+       CASE WHEN g % 3 = 0 THEN 'revenue' ELSE 'expense' END,
+       g % 10 <> 0,
+       now(),
+       NULL
+FROM generate_series(1, current_setting('bench.rows')::bigint) g;
+
+INSERT INTO bench_partitioned.entries SELECT * FROM bench_plain.entries;
+
+ALTER TABLE bench_plain.entries ADD PRIMARY KEY (id);
+ALTER TABLE bench_partitioned.entries ADD PRIMARY KEY (id, "date");
+
+CREATE INDEX ON bench_plain.entries (category_id);
+CREATE INDEX ON bench_plain.entries ("date");
+CREATE INDEX ON bench_plain.entries ("date", id);
+CREATE INDEX ON bench_plain.entries ("date") WHERE paid = false;
+CREATE INDEX ON bench_partitioned.entries (category_id);
+CREATE INDEX ON bench_partitioned.entries ("date");
+CREATE INDEX ON bench_partitioned.entries ("date", id);
+CREATE INDEX ON bench_partitioned.entries ("date") WHERE paid = false;
+
+VACUUM ANALYZE bench_plain.entries;
+VACUUM ANALYZE bench_partitioned.entries;
+
+SELECT 'bench_plain' AS schema, pg_size_pretty(pg_total_relation_size('bench_plain.entries')) AS size
+UNION ALL
+SELECT 'bench_partitioned', pg_size_pretty(sum(pg_total_relation_size(inhrelid))) FROM pg_inherits WHERE inhparent = 'bench_partitioned.entries'::regclass;
+
+-- As mesmas consultas nas duas tabelas; compare "Execution Time" e "Buffers"
+\set schema bench_plain
+\ir entries_partitioning_queries.sql
+
+\set schema bench_partitioned
+\ir entries_partitioning_queries.sql
@@ -0,0 +1,27 @@
+-- Consultas de EntryRepository medidas por entries_partitioning_benchmark.sql em :schema
+SET search_path = :schema;
+
+\echo '== ' :schema ': findByDateBetween (um mês)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM entries WHERE "date" BETWEEN '2024-03-01' AND '2024-03-31';
+
+\echo '== ' :schema ': sumAmountByTypeAndDateRangeAndPaid (um ano)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT COALESCE(SUM(amount), 0) FROM entries
+WHERE "type" = 'expense' AND "date" BETWEEN '2024-01-01' AND '2024-12-31' AND paid = true;
+
+\echo '== ' :schema ': getDashboardSummary (um trimestre)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT GROUPING("type", category_id, "date"), "type", category_id, "date",
+       SUM(CASE WHEN "type" = 'revenue' THEN amount ELSE 0 END),
+       SUM(CASE WHEN "type" = 'expense' THEN amount ELSE 0 END)
+FROM entries
+WHERE "date" BETWEEN '2025-01-01' AND '2025-03-31' AND paid = true
+GROUP BY GROUPING SETS (("type"), (category_id), ("date"));
+
+\echo '== ' :schema ': findUpcomingEntries (30 dias)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM entries
+WHERE paid = false AND "date" BETWEEN DATE '2026-06-01' AND DATE '2026-06-30' ORDER BY "date", id;
+
+\echo '== ' :schema ': paginação por cursor (primeira página)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM entries ORDER BY "date" DESC, id DESC LIMIT 21;
+
+\echo '== ' :schema ': findById (percorre o índice de cada partição)'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM entries WHERE id = current_setting('bench.rows')::bigint / 2;
@@ -0,0 +1,244 @@
+package com.finansys.backend.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finansys.backend.config.CategoryCacheProperties;
+import com.finansys.backend.config.PrimaryReads;
+import com.finansys.backend.entity.Category;
+import com.finansys.backend.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Cache em memória das categorias por ID e por nome, limitado por tamanho e TTL.
+ * Categorias mudam pouco e são consultadas em quase toda leitura e escrita de
+ * lançamentos. O CategoryService invalida as entradas a cada escrita; os acertos e
+ * falhas ficam disponíveis em /actuator/metrics/cache.gets. Toda busca recebe o
+ * usuário dono: categorias de outro usuário são tratadas como inexistentes. As cargas
+ * são feitas no principal (PrimaryReads), nunca em uma réplica atrasada.
+ */
+@Component
+public class CategoryCache {
+
+	// Gerações por faixa de usuários, como em DueEntriesService
+	private static final int GENERATION_STRIPES = 64;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private CategoryCacheProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PrimaryReads primaryReads;
+
+	private Cache<Long, CachedCategory> byId;
+
+	private Cache<NameKey, CachedCategory> byName;
+
+	// Incrementada a cada remoção na faixa do usuário; uma categoria lida antes dela não é armazenada
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+	public record CachedCategory(Long id, Long userId, String name) {
+	}
+
+	// Nomes só são únicos dentro das categorias de cada usuário
+	private record NameKey(Long userId, String name) {
+	}
+
+	@PostConstruct
+	void init() {
+
+		byId = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build();
+
+		byName = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, byId, "categories.by-id");
+		CaffeineCacheMetrics.monitor(meterRegistry, byName, "categories.by-name");
+	}
+
+	public Optional<CachedCategory> findById(Long userId, Long id) {
+
+		if (id == null) {
+
+			return Optional.empty();
+		}
+
+		CachedCategory cached = byId.getIfPresent(id);
+
+		if (cached != null) {
+
+			return Optional.of(cached).filter(category -> category.userId().equals(userId));
+		}
+
+		long startGeneration = generations.get(stripe(userId));
+
+		// Consulta fora do cache: get(key, loader) segura um lock do mapa durante o I/O e prende a thread carregadora de virtual threads
+		Optional<CachedCategory> loaded = primaryReads.read(() -> categoryRepository.findByIdAndUserId(id, userId).map(this::toCached));
+
+		// Categorias inexistentes não são armazenadas
+		loaded.ifPresent(category -> publish(userId, startGeneration, () -> byId.put(id, category), () -> byId.invalidate(id)));
+
+		return loaded;
+	}
+
+	public Optional<CachedCategory> findByName(Long userId, String name) {
+
+		if (name == null) {
+
+			return Optional.empty();
+		}
+
+		NameKey key = new NameKey(userId, name);
+
+		CachedCategory cached = byName.getIfPresent(key);
+
+		if (cached != null) {
+
+			return Optional.of(cached);
+		}
+
+		long startGeneration = generations.get(stripe(userId));
+
+		Optional<CachedCategory> loaded = primaryReads.read(() -> categoryRepository.findByUserIdAndName(userId, name).map(this::toCached));
+
+		loaded.ifPresent(category -> publish(userId, startGeneration, () -> byName.put(key, category), () -> byName.invalidate(key)));
+
+		return loaded;
+	}
+
+	// Resolve vários IDs de uma vez; os que faltam no cache são carregados em uma única consulta, fora do cache
+	public Map<Long, String> findNames(Long userId, Collection<Long> ids) {
+
+		if (ids.isEmpty()) {
+
+			return Map.of();
+		}
+
+		Map<Long, CachedCategory> categories = new HashMap<>(byId.getAllPresent(ids));
+
+		List<Long> missingIds = ids.stream().filter(id -> !categories.containsKey(id)).distinct().toList();
+
+		if (!missingIds.isEmpty()) {
+
+			long startGeneration = generations.get(stripe(userId));
+
+			Map<Long, CachedCategory> loaded = new HashMap<>();
+
+			for (Object[] row : primaryReads.read(() -> categoryRepository.findNamesByUserIdAndIdIn(userId, missingIds))) {
+
+				loaded.put((Long) row[0], new CachedCategory((Long) row[0], userId, (String) row[1]));
+			}
+
+			categories.putAll(loaded);
+
+			publish(userId, startGeneration, () -> byId.putAll(loaded), () -> byId.invalidateAll(loaded.keySet()));
+		}
+
+		Map<Long, String> names = new HashMap<>();
+
+		categories.forEach((id, category) -> {
+
+			if (category.userId().equals(userId)) {
+
+				names.put(id, category.name());
+			}
+		});
+
+		return names;
+	}
+
+	/*
+	 * Remove a categoria do cache imediatamente e de novo após o commit, para que uma
+	 * leitura concorrente feita antes do commit não deixe o valor antigo no cache.
+	 */
+	public void evict(Long userId, Long id, String... names) {
+
+		evictNow(userId, id, names);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+
+					evictNow(userId, id, names);
+				}
+			});
+		}
+	}
+
+	/*
+	 * Armazena o valor lido só se nenhuma remoção aconteceu na faixa do usuário desde o
+	 * início da leitura. Uma remoção entre a verificação e o put é detectada pela segunda
+	 * verificação, que desfaz o put.
+	 */
+	private void publish(Long userId, long startGeneration, Runnable put, Runnable undo) {
+
+		if (generations.get(stripe(userId)) != startGeneration) {
+
+			return;
+		}
+
+		put.run();
+
+		if (generations.get(stripe(userId)) != startGeneration) {
+
+			undo.run();
+		}
+	}
+
+	private void evictNow(Long userId, Long id, String... names) {
+
+		generations.incrementAndGet(stripe(userId));
+
+		if (id != null) {
+
+			byId.invalidate(id);
+		}
+
+		for (String name : names) {
+
+			if (name != null) {
+
+				byName.invalidate(new NameKey(userId, name));
+			}
+		}
+	}
+
+	private int stripe(Long userId) {
+
+		return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+	}
+
+	private CachedCategory toCached(Category category) {
+
+		return new CachedCategory(category.getId(), category.getUserId(), category.getName());
+	}
+}
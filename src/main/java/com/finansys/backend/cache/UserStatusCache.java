@@ -0,0 +1,137 @@
+package com.finansys.backend.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finansys.backend.config.PrimaryReads;
+import com.finansys.backend.config.UserStatusCacheProperties;
+import com.finansys.backend.entity.User;
+import com.finansys.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Status da conta (habilitada, bloqueada, expirada) por ID de usuário, com TTL curto.
+ * A autenticação monta o usuário a partir dos claims do token e consulta aqui apenas o
+ * que pode mudar durante a validade do token. UserService invalida a entrada ao alterar
+ * o status.
+ */
+@Component
+public class UserStatusCache {
+
+	// Gerações por faixa de usuários, como em DueEntriesService
+	private static final int GENERATION_STRIPES = 64;
+	
+	@Autowired
+	private UserRepository userRepository;
+	
+	@Autowired
+	private UserStatusCacheProperties properties;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Autowired
+	private PrimaryReads primaryReads;
+	
+	private Cache<Long, UserStatus> byId;
+	
+	// Incrementada a cada remoção na faixa do usuário; um status lido antes dela não é armazenado
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+	
+	public record UserStatus(boolean enabled, boolean accountNonLocked, boolean accountNonExpired, boolean credentialsNonExpired) {
+	}
+	
+	@PostConstruct
+	void init() {
+		
+		byId = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.status");
+	}
+	
+	// Usuários inexistentes não são armazenados. A consulta é feita fora do cache, como em CategoryCache
+	public Optional<UserStatus> findById(Long id) {
+		
+		UserStatus cached = byId.getIfPresent(id);
+		
+		if (cached != null) {
+			
+			return Optional.of(cached);
+		}
+		
+		long startGeneration = generations.get(stripe(id));
+		
+		// Lido do principal: uma réplica atrasada devolveria o status anterior a uma alteração recente
+		Optional<UserStatus> loaded = primaryReads.read(() -> userRepository.findById(id).map(this::toStatus));
+		
+		loaded.ifPresent(status -> publish(id, status, startGeneration));
+		
+		return loaded;
+	}
+	
+	public void evict(Long id) {
+		
+		evictNow(id);
+		
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCompletion(int status) {
+					
+					evictNow(id);
+				}
+			});
+		}
+	}
+	
+	/*
+	 * Armazena o status só se nenhuma remoção aconteceu desde o início da leitura. Uma
+	 * remoção entre a verificação e o put é detectada pela segunda verificação, que desfaz o put.
+	 */
+	private void publish(Long id, UserStatus status, long startGeneration) {
+		
+		if (generations.get(stripe(id)) != startGeneration) {
+			
+			return;
+		}
+		
+		byId.put(id, status);
+		
+		if (generations.get(stripe(id)) != startGeneration) {
+			
+			byId.invalidate(id);
+		}
+	}
+	
+	private void evictNow(Long id) {
+		
+		generations.incrementAndGet(stripe(id));
+		byId.invalidate(id);
+	}
+	
+	private int stripe(Long id) {
+		
+		return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+	}
+	
+	private UserStatus toStatus(User user) {
+		
+		return new UserStatus(user.isEnabled(), user.isAccountNonLocked(), user.isAccountNonExpired(), user.isCredentialsNonExpired());
+	}
+}
@@ -0,0 +1,79 @@
+package com.finansys.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Com replica.enabled, transações @Transactional(readOnly = true) leem das réplicas e
+ * as demais usam o datasource principal. O proxy lazy só obtém a conexão física no
+ * primeiro comando, quando o Spring já marcou a conexão como somente leitura; por isso
+ * a escolha entre principal e réplica é feita pela transação, sem anotações extras.
+ * Sem a propriedade, o datasource continua sendo o autoconfigurado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+
+		HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+			ReplicaProperties replicaProperties, MeterRegistry meterRegistry) {
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+
+		for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName("replica-" + i);
+			replica.setJdbcUrl(replicaProperties.getUrls().get(i));
+			replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+			replica.setUsername(StringUtils.hasText(replicaProperties.getUsername()) ? replicaProperties.getUsername() : dataSourceProperties.determineUsername());
+			replica.setPassword(StringUtils.hasText(replicaProperties.getPassword()) ? replicaProperties.getPassword() : dataSourceProperties.determinePassword());
+			replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+			replica.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+			replica.setReadOnly(true);
+			// Uma réplica fora do ar não impede a inicialização; ela só fica fora do rodízio
+			replica.setInitializationFailTimeout(-1);
+			replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+			replicas.add(replica);
+		}
+
+		return new ReplicaDataSource(primaryDataSource, replicas, replicaProperties.getMaxLag(), meterRegistry);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+		dataSource.setReadOnlyDataSource(replicaDataSource);
+
+		return dataSource;
+	}
+}
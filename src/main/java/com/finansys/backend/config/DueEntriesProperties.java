@@ -0,0 +1,41 @@
+package com.finansys.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "due-entries")
+public class DueEntriesProperties {
+
+	// Dias à frente cobertos pela lista pré-calculada de próximos vencimentos
+	private int horizonDays = 30;
+	
+	private String refreshCron = "0 0 0 * * *";
+	
+	// Usuários com listas mantidas em memória; os menos usados são descartados e recalculados na próxima leitura
+	private long maxUsers = 10000;
+
+	public int getHorizonDays() {
+		return horizonDays;
+	}
+
+	public void setHorizonDays(int horizonDays) {
+		this.horizonDays = horizonDays;
+	}
+
+	public String getRefreshCron() {
+		return refreshCron;
+	}
+
+	public void setRefreshCron(String refreshCron) {
+		this.refreshCron = refreshCron;
+	}
+
+	public long getMaxUsers() {
+		return maxUsers;
+	}
+
+	public void setMaxUsers(long maxUsers) {
+		this.maxUsers = maxUsers;
+	}
+}
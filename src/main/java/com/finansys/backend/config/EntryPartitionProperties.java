@@ -0,0 +1,30 @@
+package com.finansys.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "entry-partitions")
+public class EntryPartitionProperties {
+
+	// Anos à frente do atual com partição já criada em entries
+	private int yearsAhead = 2;
+
+	private String maintainCron = "0 0 4 * * *";
+
+	public int getYearsAhead() {
+		return yearsAhead;
+	}
+
+	public void setYearsAhead(int yearsAhead) {
+		this.yearsAhead = yearsAhead;
+	}
+
+	public String getMaintainCron() {
+		return maintainCron;
+	}
+
+	public void setMaintainCron(String maintainCron) {
+		this.maintainCron = maintainCron;
+	}
+}
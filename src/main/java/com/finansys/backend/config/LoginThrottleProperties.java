@@ -0,0 +1,52 @@
+package com.finansys.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+	private int maxFailuresPerEmail = 5;
+	
+	private int maxFailuresPerIp = 50;
+	
+	// Janela contada a partir da última falha
+	private Duration window = Duration.ofMinutes(15);
+	
+	private long maxTrackedKeys = 100000;
+
+	public int getMaxFailuresPerEmail() {
+		return maxFailuresPerEmail;
+	}
+
+	public void setMaxFailuresPerEmail(int maxFailuresPerEmail) {
+		this.maxFailuresPerEmail = maxFailuresPerEmail;
+	}
+
+	public int getMaxFailuresPerIp() {
+		return maxFailuresPerIp;
+	}
+
+	public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+		this.maxFailuresPerIp = maxFailuresPerIp;
+	}
+
+	public Duration getWindow() {
+		return window;
+	}
+
+	public void setWindow(Duration window) {
+		this.window = window;
+	}
+
+	public long getMaxTrackedKeys() {
+		return maxTrackedKeys;
+	}
+
+	public void setMaxTrackedKeys(long maxTrackedKeys) {
+		this.maxTrackedKeys = maxTrackedKeys;
+	}
+}
@@ -0,0 +1,43 @@
+package com.finansys.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+	// Threads dedicadas ao BCrypt; por padrão uma por processador
+	private int threads = Runtime.getRuntime().availableProcessors();
+	
+	// Verificações aguardando thread; acima disso a requisição é recusada na hora
+	private int queueCapacity = 32;
+	
+	private Duration timeout = Duration.ofSeconds(5);
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+}
@@ -0,0 +1,49 @@
+package com.finansys.backend.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Leituras que alimentam caches em memória. Com réplicas ativas, uma transação readOnly (inclusive a
+ * padrão dos repositórios) lê de uma réplica que pode estar até replica.max-lag atrás; um
+ * valor lido ali logo após uma invalidação voltaria ao cache já desatualizado e ficaria até
+ * expirar. Nesses casos a leitura roda em uma transação própria, sem readOnly, que usa o
+ * principal. Sem réplicas, ou dentro de uma transação de escrita, roda na transação atual.
+ */
+@Component
+public class PrimaryReads {
+
+	@Value("${replica.enabled:false}")
+	private boolean replicaEnabled;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate primaryTemplate;
+
+	@PostConstruct
+	void init() {
+
+		primaryTemplate = new TransactionTemplate(transactionManager);
+		primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public <T> T read(Supplier<T> reader) {
+
+		if (!replicaEnabled || (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+
+			return reader.get();
+		}
+
+		return primaryTemplate.execute(status -> reader.get());
+	}
+}
@@ -0,0 +1,41 @@
+package com.finansys.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "recurrences")
+public class RecurrenceProperties {
+
+	// Dias à frente com as ocorrências das séries já gravadas em entries
+	private int horizonDays = 90;
+	
+	// Séries por transação do job e lançamentos por lote de INSERT
+	private int batchSize = 500;
+	
+	private String materializeCron = "0 15 0 * * *";
+
+	public int getHorizonDays() {
+		return horizonDays;
+	}
+
+	public void setHorizonDays(int horizonDays) {
+		this.horizonDays = horizonDays;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public String getMaterializeCron() {
+		return materializeCron;
+	}
+
+	public void setMaterializeCron(String materializeCron) {
+		this.materializeCron = materializeCron;
+	}
+}
@@ -0,0 +1,177 @@
+package com.finansys.backend.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Conexões somente leitura distribuídas em rodízio entre as réplicas saudáveis. Uma
+ * réplica é saudável quando responde à verificação periódica com atraso de replicação
+ * dentro de replica.max-lag; sem nenhuma saudável, a conexão vem do principal e a
+ * métrica datasource.replica.fallbacks é incrementada.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+	/*
+	 * Segundos desde a última transação aplicada, ou zero se a réplica está conectada ao
+	 * principal e já aplicou tudo o que recebeu (um principal ocioso não deve contar como
+	 * atraso). Fora de recuperação, como um banco local usado como réplica de teste, o
+	 * atraso é zero. Nulo, e portanto réplica fora do rodízio, quando o atraso é
+	 * desconhecido: receptor de WAL desconectado (o que foi recebido e aplicado pode estar
+	 * parado há muito tempo) ou réplica que ainda não aplicou nada.
+	 */
+	private static final String LAG_SQL = """
+			SELECT CASE
+			         WHEN NOT pg_is_in_recovery() THEN 0
+			         WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+			         WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+			         ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+			       END
+			""";
+
+	private final DataSource primary;
+
+	private final List<Replica> replicas;
+
+	private final Duration maxLag;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final Counter fallbacks;
+
+	public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaDataSources, Duration maxLag, MeterRegistry meterRegistry) {
+
+		this.primary = primary;
+		this.replicas = replicaDataSources.stream().map(Replica::new).toList();
+		this.maxLag = maxLag;
+
+		for (Replica replica : replicas) {
+
+			Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+					.description("Atraso de replicação medido na última verificação, em segundos")
+					.baseUnit("seconds")
+					.tag("pool", replica.dataSource.getPoolName())
+					.register(meterRegistry);
+
+			Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+					.description("1 quando a réplica está recebendo leituras")
+					.tag("pool", replica.dataSource.getPoolName())
+					.register(meterRegistry);
+		}
+
+		this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+				.description("Conexões somente leitura atendidas pelo principal por falta de réplica saudável")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+
+		int size = replicas.size();
+		int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+
+		for (int i = 0; i < size; i++) {
+
+			Replica replica = replicas.get((start + i) % size);
+
+			if (!replica.healthy) {
+
+				continue;
+			}
+
+			try {
+
+				return replica.dataSource.getConnection();
+			} catch (SQLException e) {
+
+				// Fica fora do rodízio até a próxima verificação bem-sucedida
+				replica.healthy = false;
+
+				logger.warn("Réplica {} indisponível, tentando a próxima: {}", replica.dataSource.getPoolName(), e.getMessage());
+			}
+		}
+
+		fallbacks.increment();
+
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+
+		throw new SQLFeatureNotSupportedException("Conexões das réplicas usam as credenciais configuradas");
+	}
+
+	// Roda no início e a cada replica.check-interval; réplicas começam fora do rodízio até a primeira verificação
+	@Scheduled(fixedDelayString = "${replica.check-interval:5s}")
+	public void checkReplicationLag() {
+
+		for (Replica replica : replicas) {
+
+			boolean wasHealthy = replica.healthy;
+
+			try (Connection connection = replica.dataSource.getConnection();
+					Statement statement = connection.createStatement();
+					ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+
+				resultSet.next();
+
+				double lagSeconds = resultSet.getDouble(1);
+
+				replica.lagSeconds = resultSet.wasNull() ? Double.NaN : lagSeconds;
+				replica.healthy = !resultSet.wasNull() && lagSeconds * 1000 <= maxLag.toMillis();
+			} catch (SQLException e) {
+
+				replica.lagSeconds = Double.NaN;
+				replica.healthy = false;
+			}
+
+			if (wasHealthy != replica.healthy) {
+
+				logger.info("Réplica {} {} (atraso: {} s)", replica.dataSource.getPoolName(),
+						replica.healthy ? "recebendo leituras" : "fora do rodízio", replica.lagSeconds);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+
+		replicas.forEach(replica -> replica.dataSource.close());
+	}
+
+	private static class Replica {
+
+		private final HikariDataSource dataSource;
+
+		private volatile boolean healthy;
+
+		private volatile double lagSeconds = Double.NaN;
+
+		private Replica(HikariDataSource dataSource) {
+
+			this.dataSource = dataSource;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.finansys.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+	// Desligado: todas as conexões vão para o datasource principal
+	private boolean enabled = false;
+
+	private List<String> urls = new ArrayList<>();
+
+	// Vazios usam as credenciais de spring.datasource
+	private String username;
+
+	private String password;
+
+	private int maximumPoolSize = 10;
+
+	// Curto para que uma réplica fora do ar não segure a verificação nem a requisição
+	private Duration connectionTimeout = Duration.ofSeconds(2);
+
+	// Atraso de replicação tolerado; acima dele a réplica deixa de receber leituras
+	private Duration maxLag = Duration.ofSeconds(10);
+
+	private Duration checkInterval = Duration.ofSeconds(5);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<String> getUrls() {
+		return urls;
+	}
+
+	public void setUrls(List<String> urls) {
+		this.urls = urls;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public int getMaximumPoolSize() {
+		return maximumPoolSize;
+	}
+
+	public void setMaximumPoolSize(int maximumPoolSize) {
+		this.maximumPoolSize = maximumPoolSize;
+	}
+
+	public Duration getConnectionTimeout() {
+		return connectionTimeout;
+	}
+
+	public void setConnectionTimeout(Duration connectionTimeout) {
+		this.connectionTimeout = connectionTimeout;
+	}
+
+	public Duration getMaxLag() {
+		return maxLag;
+	}
+
+	public void setMaxLag(Duration maxLag) {
+		this.maxLag = maxLag;
+	}
+
+	public Duration getCheckInterval() {
+		return checkInterval;
+	}
+
+	public void setCheckInterval(Duration checkInterval) {
+		this.checkInterval = checkInterval;
+	}
+}
@@ -0,0 +1,87 @@
+package com.finansys.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "reports")
+public class ReportProperties {
+
+	// Threads que geram relatórios; limita as conexões usadas por relatórios ao mesmo tempo
+	private int workers = 2;
+	
+	// Relatórios aguardando thread; acima disso o pedido é recusado na hora
+	private int queueCapacity = 50;
+	
+	// Relatórios pendentes ou em execução por usuário
+	private int maxActivePerUser = 2;
+	
+	// Tempo que o resultado (ou a falha) fica disponível após a conclusão
+	private Duration resultTtl = Duration.ofHours(1);
+	
+	private String cleanupCron = "0 */10 * * * *";
+	
+	// Intervalo em que cada instância renova o heartbeat dos relatórios que está executando
+	private Duration heartbeatInterval = Duration.ofSeconds(30);
+	
+	// Sem heartbeat por esse tempo, o relatório é de uma instância que parou e é marcado como falha
+	private Duration staleAfter = Duration.ofMinutes(2);
+
+	public int getWorkers() {
+		return workers;
+	}
+
+	public void setWorkers(int workers) {
+		this.workers = workers;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getMaxActivePerUser() {
+		return maxActivePerUser;
+	}
+
+	public void setMaxActivePerUser(int maxActivePerUser) {
+		this.maxActivePerUser = maxActivePerUser;
+	}
+
+	public Duration getResultTtl() {
+		return resultTtl;
+	}
+
+	public void setResultTtl(Duration resultTtl) {
+		this.resultTtl = resultTtl;
+	}
+
+	public String getCleanupCron() {
+		return cleanupCron;
+	}
+
+	public void setCleanupCron(String cleanupCron) {
+		this.cleanupCron = cleanupCron;
+	}
+
+	public Duration getHeartbeatInterval() {
+		return heartbeatInterval;
+	}
+
+	public void setHeartbeatInterval(Duration heartbeatInterval) {
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	public Duration getStaleAfter() {
+		return staleAfter;
+	}
+
+	public void setStaleAfter(Duration staleAfter) {
+		this.staleAfter = staleAfter;
+	}
+}
@@ -18,9 +18,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.finansys.backend.security.BoundedPasswordEncoder;
 import com.finansys.backend.security.JwtAuthenticationEntryPoint;
 import com.finansys.backend.security.JwtAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -35,10 +38,17 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
-    @Bean
+    @Autowired
+    private PasswordHashingProperties passwordHashingProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // BCrypt executado em pool próprio e limitado (ver BoundedPasswordEncoder)
+    @Bean(destroyMethod = "shutdown")
     PasswordEncoder passwordEncoder() {
     	
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingProperties, meterRegistry);
     }
     
     @Bean
@@ -74,7 +84,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/categories/**").authenticated()
                 .requestMatchers("/api/entries/**").authenticated()
                 
-                // Endpoints administrativos
+                // Endpoints administrativos (também restritos por @PreAuthorize em AdminController)
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 
                 // Qualquer outra requisição requer autenticação
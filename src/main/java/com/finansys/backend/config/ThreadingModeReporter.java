@@ -0,0 +1,32 @@
+package com.finansys.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Informa na inicialização se as requisições rodam em virtual threads ou em threads de plataforma
+@Component
+public class ThreadingModeReporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void report() {
+
+		int javaVersion = Runtime.version().feature();
+
+		if (virtualThreadsEnabled && javaVersion < 21) {
+
+			logger.warn("spring.threads.virtual.enabled=true ignorado: o perfil experimental virtual-threads exige Java 21+ (atual: {})", javaVersion);
+		} else {
+
+			logger.info("Modo de execução das requisições: {}", virtualThreadsEnabled ? "virtual threads" : "threads de plataforma");
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.finansys.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "cache.user-status")
+public class UserStatusCacheProperties {
+
+	private long maxSize = 10000;
+	
+	// Tempo máximo até uma alteração de status feita fora da aplicação valer para tokens já emitidos
+	private Duration ttl = Duration.ofMinutes(1);
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+}
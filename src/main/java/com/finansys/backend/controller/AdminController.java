@@ -0,0 +1,97 @@
+package com.finansys.backend.controller;
+
+import java.time.LocalDateTime;
+import java.util.OptionalInt;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finansys.backend.dto.response.MessageResponseDTO;
+import com.finansys.backend.service.EntryAggregateService;
+import com.finansys.backend.service.RowCounterService;
+import com.finansys.backend.service.UserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Administração", description = "Endpoints administrativos de manutenção")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminController {
+
+	@Autowired
+	private EntryAggregateService entryAggregateService;
+	
+	@Autowired
+	private UserService userService;
+	
+	@Autowired
+	private RowCounterService rowCounterService;
+	
+	@PostMapping("/aggregates/rebuild")
+    @Operation(summary = "Recalcular totais mensais", 
+               description = "Recalcula do zero a tabela de totais mensais a partir dos lançamentos. As escritas em lançamentos aguardam o fim da reconstrução")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totais recalculados com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Acesso restrito a administradores")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponseDTO> rebuildAggregates() {
+		
+        int rows = entryAggregateService.rebuildMonthlyTotals();
+        
+        return ResponseEntity.ok(new MessageResponseDTO("Totais mensais recalculados: " + rows + " grupos", true, LocalDateTime.now()));
+    }
+	
+	@PostMapping("/counters/reconcile")
+    @Operation(summary = "Reconciliar contadores", 
+               description = "Compara os contadores de lançamentos e categorias com as contagens reais e corrige as diferenças. Também executado diariamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Contadores reconciliados com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Acesso restrito a administradores"),
+        @ApiResponse(responseCode = "409", description = "Reconciliação já em andamento")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponseDTO> reconcileCounters() {
+		
+        OptionalInt repaired = rowCounterService.reconcile();
+        
+        if (repaired.isEmpty()) {
+        	
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponseDTO("Reconciliação de contadores já em andamento", false, LocalDateTime.now()));
+        }
+        
+        return ResponseEntity.ok(new MessageResponseDTO("Contadores reconciliados: " + repaired.getAsInt() + " corrigidos", true, LocalDateTime.now()));
+    }
+	
+	@PatchMapping("/users/{id}/status")
+    @Operation(summary = "Alterar status do usuário", 
+               description = "Habilita ou desabilita a conta do usuário. Tokens já emitidos deixam de ser aceitos em seguida")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "403", description = "Acesso restrito a administradores"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponseDTO> updateUserStatus(@PathVariable Long id, @RequestParam boolean enabled) {
+		
+        userService.updateUserStatus(id, enabled);
+        
+        return ResponseEntity.ok(new MessageResponseDTO(enabled ? "Usuário habilitado" : "Usuário desabilitado", true, LocalDateTime.now()));
+    }
+}
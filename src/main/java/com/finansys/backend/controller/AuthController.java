@@ -19,10 +19,13 @@ import com.finansys.backend.dto.request.LoginRequestDTO;
 import com.finansys.backend.dto.request.RegisterRequestDTO;
 import com.finansys.backend.dto.response.JwtResponseDTO;
 import com.finansys.backend.dto.response.MessageResponseDTO;
+import com.finansys.backend.exception.ServiceUnavailableException;
+import com.finansys.backend.exception.TooManyRequestsException;
 import com.finansys.backend.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -40,13 +43,15 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
         @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
-        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @ApiResponse(responseCode = "429", description = "Muitas tentativas de login falhas"),
+        @ApiResponse(responseCode = "503", description = "Servidor ocupado verificando senhas")
     })
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
 		
         try {
         	
-            JwtResponseDTO jwtResponse = authService.authenticateUser(loginRequest);
+            JwtResponseDTO jwtResponse = authService.authenticateUser(loginRequest, request.getRemoteAddr());
             
             
             ResponseCookie cookie = ResponseCookie.from("token", jwtResponse.token())
@@ -62,6 +67,10 @@ public class AuthController {
             	    .body(jwtResponse);
 
 //            return ResponseEntity.ok(jwtResponse);
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+        	
+            // Tratadas pelo GlobalExceptionHandler (429 e 503)
+            throw e;
         } catch (Exception e) {
         	
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponseDTO("Credenciais inválidas: " + e.getMessage(), false, LocalDateTime.now()));
@@ -72,7 +81,8 @@ public class AuthController {
     @Operation(summary = "Registrar usuário", description = "Cria uma nova conta de usuário")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuário registrado com sucesso"),
-        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos ou usuário já existe")
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos ou usuário já existe"),
+        @ApiResponse(responseCode = "503", description = "Servidor ocupado processando senhas")
     })
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequestDTO registerRequestDTO) {
 		
@@ -87,6 +97,9 @@ public class AuthController {
             	
                 return ResponseEntity.badRequest().body(messageResponseDTO);
             }
+        } catch (ServiceUnavailableException e) {
+        	
+            throw e;
         } catch (Exception e) {
         	
             return ResponseEntity.badRequest().body(new MessageResponseDTO("Erro no registro: " + e.getMessage(), false, LocalDateTime.now()));
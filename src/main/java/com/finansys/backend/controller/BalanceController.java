@@ -0,0 +1,51 @@
+package com.finansys.backend.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finansys.backend.dto.response.BalanceSeriesResponseDTO;
+import com.finansys.backend.service.BalanceService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/balance")
+@Tag(name = "Saldo", description = "Saldo acumulado e projeção de caixa")
+@SecurityRequirement(name = "bearerAuth")
+public class BalanceController {
+
+	@Autowired
+	private BalanceService balanceService;
+	
+	@GetMapping("/series")
+    @Operation(summary = "Obter série de saldos", 
+               description = "Retorna o saldo acumulado de cada dia do período: balance considera os lançamentos pagos e projectedBalance inclui também os não pagos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Série retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Datas inválidas ou período longo demais"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<BalanceSeriesResponseDTO> getSeries(
+            @Parameter(description = "Data de início (formato: yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data de fim (formato: yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		
+        BalanceSeriesResponseDTO series = balanceService.getSeries(from, to);
+        
+        return ResponseEntity.ok(series);
+    }
+}
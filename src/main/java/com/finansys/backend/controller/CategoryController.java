@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,11 +17,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.finansys.backend.dto.request.CategoryRequestDTO;
 import com.finansys.backend.dto.response.CategoryResponseDTO;
 import com.finansys.backend.dto.response.MessageResponseDTO;
 import com.finansys.backend.service.CategoryService;
+import com.finansys.backend.service.DataVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,6 +44,9 @@ public class CategoryController {
 	@Autowired
 	private CategoryService categoryService;
 	
+	@Autowired
+	private DataVersionService dataVersionService;
+	
 	@PostMapping()
     @Operation(summary = "Criar categoria", description = "Cria uma nova categoria")
     @ApiResponses(value = {
@@ -91,17 +97,16 @@ public class CategoryController {
     }
 	
 	@GetMapping("")
-    @Operation(summary = "Listar todas as categorias", description = "Retorna lista de todas as categorias")
+    @Operation(summary = "Listar todas as categorias", description = "Retorna lista de todas as categorias. Responde 304 quando o If-None-Match corresponde à ETag atual")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de categorias retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Categorias não alteradas desde a ETag informada"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
     })
 //    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<CategoryResponseDTO>> getAllCategories() {
+    public ResponseEntity<List<CategoryResponseDTO>> getAllCategories(WebRequest webRequest) {
 		
-        List<CategoryResponseDTO> categories = categoryService.getAllCategories();
-        
-        return ResponseEntity.ok(categories);
+        return dataVersionService.getIfModified(webRequest, categoryService::getAllCategories);
     }
 	
 	@GetMapping("/paginated")
@@ -109,13 +114,14 @@ public class CategoryController {
                description = "Retorna lista paginada de categorias")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista paginada retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Página ou tamanho inválidos"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
     })
 //    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<CategoryResponseDTO>> getAllCategoriesPaginated(
             @Parameter(description = "Número da página (começando em 0)")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamanho da página")
+            @Parameter(description = "Tamanho da página (1 a 100)")
             @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo para ordenação")
             @RequestParam(defaultValue = "name") String sortBy,
@@ -129,17 +135,22 @@ public class CategoryController {
 	
 	@GetMapping("/search")
     @Operation(summary = "Buscar categorias", 
-               description = "Busca categorias por nome ou descrição")
+               description = "Busca categorias por trecho ou semelhança no nome ou na descrição, ordenadas pela relevância")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Termo de busca com menos de 3 caracteres ou página inválida"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
     })
 //    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<CategoryResponseDTO>> searchCategories(
-            @Parameter(description = "Termo de busca")
-            @RequestParam String searchTerm) {
+    public ResponseEntity<Slice<CategoryResponseDTO>> searchCategories(
+            @Parameter(description = "Termo de busca (mínimo 3 caracteres)")
+            @RequestParam String searchTerm,
+            @Parameter(description = "Número da página (começando em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (1 a 100)")
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<CategoryResponseDTO> categories = categoryService.searchCategories(searchTerm);
+        Slice<CategoryResponseDTO> categories = categoryService.searchCategories(searchTerm, page, size);
         
         return ResponseEntity.ok(categories);
     }
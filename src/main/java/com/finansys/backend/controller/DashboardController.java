@@ -0,0 +1,51 @@
+package com.finansys.backend.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finansys.backend.dto.response.DashboardResponseDTO;
+import com.finansys.backend.service.DashboardService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/dashboard")
+@Tag(name = "Dashboard", description = "Resumo financeiro do período")
+@SecurityRequirement(name = "bearerAuth")
+public class DashboardController {
+
+	@Autowired
+	private DashboardService dashboardService;
+	
+	@GetMapping
+    @Operation(summary = "Obter dashboard", 
+               description = "Retorna, em uma única consulta, os totais pagos do período por tipo, por categoria e por dia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dashboard retornado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Datas inválidas"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<DashboardResponseDTO> getDashboard(
+            @Parameter(description = "Data de início (formato: yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data de fim (formato: yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		
+        DashboardResponseDTO dashboard = dashboardService.getDashboard(from, to);
+        
+        return ResponseEntity.ok(dashboard);
+    }
+}
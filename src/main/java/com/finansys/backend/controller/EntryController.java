@@ -4,11 +4,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,10 +24,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.finansys.backend.dto.request.EntryBulkRequestDTO;
 import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.CursorPageResponseDTO;
+import com.finansys.backend.dto.response.EntryCountBreakdownDTO;
+import com.finansys.backend.dto.response.EntryBulkResponseDTO;
+import com.finansys.backend.dto.response.EntryImportResultDTO;
 import com.finansys.backend.dto.response.EntryResponseDTO;
 import com.finansys.backend.dto.response.MessageResponseDTO;
+import com.finansys.backend.security.CurrentUser;
+import com.finansys.backend.service.DataVersionService;
+import com.finansys.backend.service.EntryBulkService;
+import com.finansys.backend.service.EntryExportService;
+import com.finansys.backend.service.EntryImportService;
 import com.finansys.backend.service.EntryService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +59,21 @@ public class EntryController {
 	
 	@Autowired
     private EntryService entryService;
+	
+	@Autowired
+    private EntryExportService entryExportService;
+	
+	@Autowired
+    private EntryImportService entryImportService;
+	
+	@Autowired
+    private EntryBulkService entryBulkService;
+	
+	@Autowired
+    private DataVersionService dataVersionService;
+	
+	@Autowired
+    private CurrentUser currentUser;
     
     @PostMapping
     @Operation(summary = "Criar lançamento", description = "Cria um novo lançamento financeiro")
@@ -77,6 +109,42 @@ public class EntryController {
         }
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar, atualizar e excluir lançamentos em lote", 
+               description = "Aplica até 1000 operações de cada tipo em uma única transação e retorna o resultado de cada item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado (itens com erro constam nos resultados)"),
+        @ApiResponse(responseCode = "400", description = "Lote acima do limite de operações"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryBulkResponseDTO> applyBulk(@Valid @RequestBody EntryBulkRequestDTO bulkRequest) {
+    	
+        EntryBulkResponseDTO bulkResponse = entryBulkService.applyBulk(bulkRequest);
+        
+        return ResponseEntity.ok(bulkResponse);
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar extrato", 
+               description = "Importa lançamentos de um arquivo CSV ou OFX em lotes, retornando o relatório de erros por linha")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importação concluída (linhas inválidas constam no relatório)"),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio, ilegível ou em formato não suportado"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryImportResultDTO> importEntries(
+            @Parameter(description = "Arquivo .csv (separado por ';') ou .ofx")
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Categoria usada nas linhas sem categoria (obrigatória para OFX)")
+            @RequestParam(required = false) Long categoryId) {
+        
+        EntryImportResultDTO result = entryImportService.importStatement(file, categoryId);
+        
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Obter lançamento por ID", description = "Retorna um lançamento específica pelo ID")
     @ApiResponses(value = {
@@ -104,38 +172,129 @@ public class EntryController {
     }
     
     @GetMapping
-    @Operation(summary = "Listar todas os lançamentos", description = "Retorna lista de todos os lançamentos")
+    @Operation(summary = "Listar todas os lançamentos", description = "Retorna lista de todos os lançamentos. Responde 304 quando o If-None-Match corresponde à ETag atual")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de lançamentos retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Lançamentos não alterados desde a ETag informada"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
     })
 //    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<EntryResponseDTO>> getAllEntries() {
+    public ResponseEntity<List<EntryResponseDTO>> getAllEntries(WebRequest webRequest) {
     	
-        List<EntryResponseDTO> entries = entryService.getAllEntries();
-        
-        return ResponseEntity.ok(entries);
+        return dataVersionService.getIfModified(webRequest, entryService::getAllEntries);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar lançamentos", 
+               description = "Transmite todos os lançamentos em NDJSON ou CSV sem carregar a tabela em memória, com compressão gzip opcional")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Formato de exportação inválido"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            @Parameter(description = "Formato do arquivo (ndjson ou csv)")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Comprimir a resposta com gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        EntryExportService.Format exportFormat = EntryExportService.Format.of(format);
+        
+        // Resolvido na thread da requisição; o corpo é escrito depois, em outra thread
+        Long userId = currentUser.getId();
+        
+        StreamingResponseBody body = outputStream -> {
+        	
+            if (gzip) {
+            	
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+                
+                entryExportService.export(userId, exportFormat, gzipOutputStream);
+                
+                gzipOutputStream.finish();
+            } else {
+            	
+                entryExportService.export(userId, exportFormat, outputStream);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"entries." + exportFormat.getExtension() + "\"");
+        
+        if (gzip) {
+        	
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        return response.body(body);
+    }
+    
     @GetMapping("/paginated")
     @Operation(summary = "Listar lançamentos com paginação", 
-               description = "Retorna lista paginada de lançamentos")
+               description = "Retorna lista paginada de lançamentos. Responde 304 quando o If-None-Match corresponde à ETag atual")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista paginada retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Lançamentos não alterados desde a ETag informada"),
+        @ApiResponse(responseCode = "400", description = "Página, tamanho ou ordenação inválidos"),
         @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
     })
 //    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Page<EntryResponseDTO>> getAllEntriesPaginated(
+            WebRequest webRequest,
             @Parameter(description = "Número da página (começando em 0)")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamanho da página")
+            @Parameter(description = "Tamanho da página (1 a 100)")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Campo para ordenação")
+            @Parameter(description = "Campo para ordenação (apenas date; empates ordenados pelo id)")
             @RequestParam(defaultValue = "date") String sortBy,
             @Parameter(description = "Direção da ordenação (asc ou desc)")
             @RequestParam(defaultValue = "desc") String sortDir) {
         
-        Page<EntryResponseDTO> entries = entryService.getAllEntriesPaginated(page, size, sortBy, sortDir);
+        return dataVersionService.getIfModified(webRequest, () -> entryService.getAllEntriesPaginated(page, size, sortBy, sortDir));
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Buscar lançamentos", 
+               description = "Busca lançamentos por trecho ou semelhança no nome ou na descrição, ordenados pela relevância")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Termo de busca com menos de 3 caracteres ou página inválida"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Slice<EntryResponseDTO>> searchEntries(
+            @Parameter(description = "Termo de busca (mínimo 3 caracteres)")
+            @RequestParam String term,
+            @Parameter(description = "Número da página (começando em 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (1 a 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        
+        Slice<EntryResponseDTO> entries = entryService.searchEntries(term, page, size);
+        
+        return ResponseEntity.ok(entries);
+    }
+    
+    @GetMapping("/paginated/cursor")
+    @Operation(summary = "Listar lançamentos com paginação por cursor", 
+               description = "Retorna lançamentos ordenados por data e ID a partir de um cursor opaco, sem contagem total. O custo de qualquer página é igual ao da primeira")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou parâmetros inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponseDTO<EntryResponseDTO>> getEntriesByCursor(
+            @Parameter(description = "Cursor retornado em nextCursor pela página anterior (vazio para a primeira página)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (1 a 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Direção da ordenação por data (asc ou desc)")
+            @RequestParam(defaultValue = "desc") String sortDir) {
+        
+        CursorPageResponseDTO<EntryResponseDTO> entries = entryService.getEntriesByCursor(cursor, size, sortDir);
         
         return ResponseEntity.ok(entries);
     }
@@ -205,6 +364,39 @@ public class EntryController {
         return ResponseEntity.ok(entries);
     }
     
+    @GetMapping("/overdue")
+    @Operation(summary = "Listar lançamentos em atraso", 
+               description = "Retorna lançamentos não pagos com data anterior a hoje, do mais antigo para o mais recente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de lançamentos retornada com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<EntryResponseDTO>> getOverdueEntries() {
+        
+        List<EntryResponseDTO> entries = entryService.getOverdueEntries();
+        
+        return ResponseEntity.ok(entries);
+    }
+    
+    @GetMapping("/upcoming")
+    @Operation(summary = "Listar próximos vencimentos", 
+               description = "Retorna lançamentos não pagos com data entre hoje e os próximos dias informados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de lançamentos retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Quantidade de dias inválida"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<EntryResponseDTO>> getUpcomingEntries(
+            @Parameter(description = "Quantidade de dias à frente")
+            @RequestParam(defaultValue = "7") int days) {
+        
+        List<EntryResponseDTO> entries = entryService.getUpcomingEntries(days);
+        
+        return ResponseEntity.ok(entries);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar lançamento", description = "Atualiza um lançamento existente")
     @ApiResponses(value = {
@@ -334,4 +526,18 @@ public class EntryController {
         
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping("/count/breakdown")
+    @Operation(summary = "Contar lançamentos por tipo e status", description = "Retorna o total de lançamentos e a contagem por tipo e status de pagamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Contagens retornadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryCountBreakdownDTO> getCountBreakdown() {
+    	
+        EntryCountBreakdownDTO breakdown = entryService.getCountBreakdown();
+        
+        return ResponseEntity.ok(breakdown);
+    }
 }
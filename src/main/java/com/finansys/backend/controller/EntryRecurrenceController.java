@@ -0,0 +1,111 @@
+package com.finansys.backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finansys.backend.dto.request.EntryRecurrenceRequestDTO;
+import com.finansys.backend.dto.request.EntryRecurrenceUpdateDTO;
+import com.finansys.backend.dto.response.EntryRecurrenceResponseDTO;
+import com.finansys.backend.service.EntryRecurrenceService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/recurrences")
+@Tag(name = "Lançamentos recorrentes", description = "Contas mensais, semanais e parcelamentos")
+@SecurityRequirement(name = "bearerAuth")
+public class EntryRecurrenceController {
+
+	@Autowired
+	private EntryRecurrenceService entryRecurrenceService;
+	
+	@PostMapping
+    @Operation(summary = "Criar lançamento recorrente", 
+               description = "Cria a série e os lançamentos das ocorrências até o horizonte configurado; as seguintes são criadas diariamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Série criada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryRecurrenceResponseDTO> createRecurrence(@Valid @RequestBody EntryRecurrenceRequestDTO recurrenceRequest) {
+		
+        EntryRecurrenceResponseDTO recurrenceResponse = entryRecurrenceService.createRecurrence(recurrenceRequest);
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurrenceResponse);
+    }
+	
+	@GetMapping
+    @Operation(summary = "Listar lançamentos recorrentes", description = "Retorna as séries do usuário")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<EntryRecurrenceResponseDTO>> getAllRecurrences() {
+		
+        return ResponseEntity.ok(entryRecurrenceService.getAllRecurrences());
+    }
+	
+	@GetMapping("/{id}")
+    @Operation(summary = "Obter lançamento recorrente por ID", description = "Retorna uma série específica pelo ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Série encontrada"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryRecurrenceResponseDTO> getRecurrenceById(@PathVariable Long id) {
+		
+        return ResponseEntity.ok(entryRecurrenceService.getRecurrenceById(id));
+    }
+	
+	@PutMapping("/{id}")
+    @Operation(summary = "Atualizar lançamento recorrente", 
+               description = "Atualiza a série e, em um único comando, as ocorrências a partir de hoje ainda não pagas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Série atualizada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Série ou categoria não encontrada")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<EntryRecurrenceResponseDTO> updateRecurrence(@PathVariable Long id,
+                                                                      @Valid @RequestBody EntryRecurrenceUpdateDTO recurrenceRequest) {
+		
+        return ResponseEntity.ok(entryRecurrenceService.updateRecurrence(id, recurrenceRequest));
+    }
+	
+	@DeleteMapping("/{id}")
+    @Operation(summary = "Excluir lançamento recorrente", 
+               description = "Encerra a série e exclui as ocorrências a partir de hoje ainda não pagas; as demais continuam como lançamentos avulsos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Série excluída com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Série não encontrada")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteRecurrence(@PathVariable Long id) {
+		
+        entryRecurrenceService.deleteRecurrence(id);
+        
+        return ResponseEntity.noContent().build();
+    }
+}
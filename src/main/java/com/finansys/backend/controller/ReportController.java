@@ -0,0 +1,93 @@
+package com.finansys.backend.controller;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.finansys.backend.dto.request.ReportJobRequestDTO;
+import com.finansys.backend.dto.response.ReportJobResponseDTO;
+import com.finansys.backend.exception.ResourceNotFoundException;
+import com.finansys.backend.repository.ReportJobRepository;
+import com.finansys.backend.service.ReportJobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/reports")
+@Tag(name = "Relatórios", description = "Relatórios gerados em segundo plano")
+@SecurityRequirement(name = "bearerAuth")
+public class ReportController {
+
+	@Autowired
+	private ReportJobService reportJobService;
+	
+	@PostMapping
+    @Operation(summary = "Solicitar relatório", 
+               description = "Registra o pedido e retorna o ID para consulta. Pedidos iguais, sem alterações nos dados desde o anterior, reaproveitam o mesmo relatório")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Relatório solicitado (ou reaproveitado)"),
+        @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "429", description = "Limite de relatórios em andamento atingido"),
+        @ApiResponse(responseCode = "503", description = "Fila de relatórios cheia")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ReportJobResponseDTO> submitReport(@Valid @RequestBody ReportJobRequestDTO reportRequest) {
+		
+        ReportJobResponseDTO job = reportJobService.submit(reportRequest);
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+	
+	@GetMapping("/{id}")
+    @Operation(summary = "Consultar relatório", description = "Retorna o estado do pedido: pending, running, done ou failed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou expirado")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ReportJobResponseDTO> getReport(@PathVariable UUID id) {
+		
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+	
+	@GetMapping("/{id}/result")
+    @Operation(summary = "Obter resultado do relatório", 
+               description = "Retorna o relatório concluído; enquanto estiver em andamento retorna 202 com o estado do pedido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Relatório concluído"),
+        @ApiResponse(responseCode = "202", description = "Relatório em andamento"),
+        @ApiResponse(responseCode = "401", description = "Usuário não autenticado"),
+        @ApiResponse(responseCode = "404", description = "Relatório não encontrado ou expirado"),
+        @ApiResponse(responseCode = "409", description = "Falha ao gerar o relatório")
+    })
+//    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getReportResult(@PathVariable UUID id) {
+		
+        ReportJobResponseDTO job = reportJobService.getJob(id);
+        
+        return switch (job.status()) {
+        
+            case ReportJobRepository.DONE -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(reportJobService.getResult(id).orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado com ID: " + id)));
+            case ReportJobRepository.FAILED -> ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+            default -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        };
+    }
+}
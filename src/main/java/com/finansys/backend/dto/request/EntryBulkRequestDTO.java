@@ -0,0 +1,10 @@
+package com.finansys.backend.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+// Os itens são validados individualmente pelo serviço para que cada um tenha seu próprio resultado
+public record EntryBulkRequestDTO(@Size(max = 1000, message = "Máximo de 1000 criações por requisição") List<EntryRequestDTO> create, @Size(max = 1000, message = "Máximo de 1000 atualizações por requisição") List<EntryBulkUpdateDTO> update, @Size(max = 1000, message = "Máximo de 1000 exclusões por requisição") List<Long> delete) {
+
+}
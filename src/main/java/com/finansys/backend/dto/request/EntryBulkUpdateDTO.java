@@ -0,0 +1,5 @@
+package com.finansys.backend.dto.request;
+
+public record EntryBulkUpdateDTO(Long id, EntryRequestDTO entry) {
+
+}
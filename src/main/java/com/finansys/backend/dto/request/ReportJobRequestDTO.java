@@ -0,0 +1,13 @@
+package com.finansys.backend.dto.request;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public record ReportJobRequestDTO(@NotBlank(message = "Tipo de relatório é obrigatório") @Pattern(regexp = "^(category-breakdown)$", message = "Tipo de relatório inválido") String type, @NotNull(message = "Data inicial é obrigatória") @JsonFormat(pattern = "dd/MM/yyyy") LocalDate from, @NotNull(message = "Data final é obrigatória") @JsonFormat(pattern = "dd/MM/yyyy") LocalDate to) {
+
+}
@@ -0,0 +1,10 @@
+package com.finansys.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record BalancePointDTO(@JsonFormat(pattern = "dd/MM/yyyy") LocalDate date, BigDecimal balance, BigDecimal projectedBalance) {
+
+}
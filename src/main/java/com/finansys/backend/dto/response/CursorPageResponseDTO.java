@@ -0,0 +1,7 @@
+package com.finansys.backend.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+
+}
@@ -0,0 +1,7 @@
+package com.finansys.backend.dto.response;
+
+import java.math.BigDecimal;
+
+public record DashboardCategoryTotalDTO(Long categoryId, String categoryName, BigDecimal revenue, BigDecimal expense) {
+
+}
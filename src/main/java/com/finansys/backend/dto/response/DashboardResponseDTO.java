@@ -0,0 +1,11 @@
+package com.finansys.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record DashboardResponseDTO(@JsonFormat(pattern = "dd/MM/yyyy") LocalDate from, @JsonFormat(pattern = "dd/MM/yyyy") LocalDate to, BigDecimal totalRevenue, BigDecimal totalExpense, BigDecimal balance, List<DashboardCategoryTotalDTO> categories, List<DashboardDailyTotalDTO> daily) {
+
+}
@@ -0,0 +1,5 @@
+package com.finansys.backend.dto.response;
+
+public record EntryBulkItemResultDTO(String operation, int index, Long id, boolean success, String message) {
+
+}
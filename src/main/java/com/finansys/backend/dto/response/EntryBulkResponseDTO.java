@@ -0,0 +1,7 @@
+package com.finansys.backend.dto.response;
+
+import java.util.List;
+
+public record EntryBulkResponseDTO(int succeeded, int failed, List<EntryBulkItemResultDTO> results) {
+
+}
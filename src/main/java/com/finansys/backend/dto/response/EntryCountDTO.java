@@ -0,0 +1,5 @@
+package com.finansys.backend.dto.response;
+
+public record EntryCountDTO(String type, boolean paid, long count) {
+
+}
@@ -0,0 +1,5 @@
+package com.finansys.backend.dto.response;
+
+public record EntryImportErrorDTO(int row, String message) {
+
+}
@@ -0,0 +1,7 @@
+package com.finansys.backend.dto.response;
+
+import java.util.List;
+
+public record EntryImportResultDTO(int totalRows, int importedRows, int rejectedRows, List<EntryImportErrorDTO> errors, boolean errorsTruncated) {
+
+}
@@ -0,0 +1,11 @@
+package com.finansys.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record EntryRecurrenceResponseDTO(Long id, String name, String description, String type, BigDecimal amount, Long categoryId, String categoryName, String frequency, @JsonFormat(pattern = "dd/MM/yyyy") LocalDate startDate, Integer installments, @JsonFormat(pattern = "dd/MM/yyyy") LocalDate nextDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+}
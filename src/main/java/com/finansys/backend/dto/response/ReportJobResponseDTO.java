@@ -0,0 +1,11 @@
+package com.finansys.backend.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record ReportJobResponseDTO(UUID id, String type, String status, @JsonFormat(pattern = "dd/MM/yyyy") LocalDate from, @JsonFormat(pattern = "dd/MM/yyyy") LocalDate to, String error, LocalDateTime createdAt, LocalDateTime startedAt, LocalDateTime finishedAt, LocalDateTime expiresAt) {
+
+}
@@ -29,7 +29,7 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "categories", indexes = {
 		
-		@Index(name = "idx_category_name", columnList = "name"), 
+		@Index(name = "idx_category_user_name", columnList = "user_id, name"), 
 		@Index(name = "idx_category_created_at", columnList = "created_at")
 })
 public class Category {
@@ -48,6 +48,10 @@ public class Category {
 	@Column(name = "description", nullable = true, length = 500)
 	private String description;
 	
+	// Dono da categoria; preenchido pelo serviço com o usuário autenticado
+	@Column(name = "user_id", nullable = false, updatable = false)
+	private Long userId;
+	
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private LocalDateTime createdAt;
 	
@@ -35,10 +35,10 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "entries", indexes = {
 
-		@Index(name = "idx_entry_date", columnList = "date"),
+		@Index(name = "idx_entry_user_date", columnList = "user_id, date, id"),
+		@Index(name = "idx_entry_user_category", columnList = "user_id, category_id"),
 		@Index(name = "idx_entry_type", columnList = "type"),
-		@Index(name = "idx_entry_paid", columnList = "paid"),
-		@Index(name = "idx_entry_category", columnList = "category_id")
+		@Index(name = "idx_entry_paid", columnList = "paid")
 })
 public class Entry {
 
@@ -81,6 +81,17 @@ public class Entry {
 	@Column(name = "category_id", nullable = false)
 	private Long categoryId;
 	
+	// Dono do lançamento; preenchido pelo serviço com o usuário autenticado
+	@Column(name = "user_id", nullable = false, updatable = false)
+	private Long userId;
+	
+	// Série de origem e número da ocorrência, para lançamentos criados por uma recorrência
+	@Column(name = "recurrence_id", updatable = false)
+	private Long recurrenceId;
+	
+	@Column(name = "occurrence", updatable = false)
+	private Integer occurrence;
+	
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id", insertable = false, updatable = false)
 	private Category category;
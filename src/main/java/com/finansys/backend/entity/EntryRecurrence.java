@@ -0,0 +1,111 @@
+package com.finansys.backend.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Regra de recorrência de um lançamento: a partir de start_date, uma ocorrência por mês ou
+ * por semana, indefinidamente ou até o número de parcelas. As ocorrências são gravadas em
+ * entries pelo EntryRecurrenceService até o horizonte configurado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "entry_recurrences")
+public class EntryRecurrence {
+
+	public static final String MONTHLY = "monthly";
+	
+	public static final String WEEKLY = "weekly";
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "user_id", nullable = false, updatable = false)
+	private Long userId;
+	
+	@Column(name = "name", nullable = false, length = 200)
+	private String name;
+	
+	@Column(name = "description", length = 1000)
+	private String description;
+	
+	@Column(name = "type", nullable = false, length = 20)
+	private String type;
+	
+	@Column(name = "amount", nullable = false, precision = 12, scale = 2)
+	private BigDecimal amount;
+	
+	@Column(name = "category_id", nullable = false)
+	private Long categoryId;
+	
+	@Column(name = "frequency", nullable = false, length = 20, updatable = false)
+	private String frequency;
+	
+	@Column(name = "start_date", nullable = false, updatable = false)
+	private LocalDate startDate;
+	
+	// Nulo para séries sem fim
+	@Column(name = "installments", updatable = false)
+	private Integer installments;
+	
+	@Column(name = "next_occurrence", nullable = false)
+	private Integer nextOccurrence;
+	
+	@Column(name = "next_date")
+	private LocalDate nextDate;
+	
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+	
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+	
+	@PrePersist
+	protected void onCreate() {
+		
+		this.createdAt = LocalDateTime.now();
+		this.updatedAt = LocalDateTime.now();
+	}
+	
+	@PreUpdate
+	protected void onUpdate() {
+		
+		this.updatedAt = LocalDateTime.now();
+	}
+	
+	// Data da ocorrência (a partir de 1), sempre calculada a partir de start_date; nula além da última parcela
+	public LocalDate occurrenceDate(int occurrence) {
+		
+		if (installments != null && occurrence > installments) {
+			
+			return null;
+		}
+		
+		return WEEKLY.equals(frequency) ? startDate.plusWeeks(occurrence - 1L) : startDate.plusMonths(occurrence - 1L);
+	}
+	
+	// Parcelas levam o número no nome, ex.: "Notebook (3/12)"; mesma regra de EntryBatchRepository.UPDATE_SERIES_SQL
+	public String occurrenceName(int occurrence) {
+		
+		return installments == null ? name : name + " (" + occurrence + "/" + installments + ")";
+	}
+}
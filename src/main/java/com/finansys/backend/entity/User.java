@@ -38,7 +38,7 @@ uniqueConstraints = {
 indexes = {
 		
 		@Index(name = "idx_user_name", columnList = "name"),
-        @Index(name = "idx_user_email", columnList = "email"),
+        @Index(name = "uk_user_email", columnList = "email", unique = true),
         @Index(name = "idx_user_enabled", columnList = "enabled")
 })
 @NoArgsConstructor
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -96,6 +97,28 @@ private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHand
             .body(new MessageResponseDTO("Credenciais inválidas", false, LocalDateTime.now()));
     }
     
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<MessageResponseDTO> handleTooManyRequestsException(
+            TooManyRequestsException ex, WebRequest request) {
+        
+        logger.warn("Requisição limitada: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(new MessageResponseDTO(ex.getMessage(), false, LocalDateTime.now()));
+    }
+    
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<MessageResponseDTO> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        
+        logger.warn("Serviço indisponível: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new MessageResponseDTO(ex.getMessage(), false, LocalDateTime.now()));
+    }
+    
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<MessageResponseDTO> handleAccessDeniedException(
             AccessDeniedException ex, WebRequest request) {
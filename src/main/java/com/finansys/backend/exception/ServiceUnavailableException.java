@@ -0,0 +1,11 @@
+package com.finansys.backend.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = -2519054712245086410L;
+
+	public ServiceUnavailableException(String message) {
+		
+		super(message);
+	}
+}
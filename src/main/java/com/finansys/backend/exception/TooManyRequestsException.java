@@ -0,0 +1,19 @@
+package com.finansys.backend.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+	private static final long serialVersionUID = 4786212983617453301L;
+	
+	private final long retryAfterSeconds;
+
+	public TooManyRequestsException(String message, long retryAfterSeconds) {
+		
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		
+		return retryAfterSeconds;
+	}
+}
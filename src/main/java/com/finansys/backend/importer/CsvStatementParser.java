@@ -0,0 +1,173 @@
+package com.finansys.backend.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+
+/*
+ * Lê CSV separado por ';' com cabeçalho. As colunas são identificadas pelo nome
+ * (name, description, type, amount, date, paid, categoryId), então o arquivo gerado
+ * por /entries/export pode ser importado de volta. Apenas date e amount são obrigatórias:
+ * sem name usa-se a descrição e sem type o sinal do valor define receita ou despesa.
+ * O arquivo pode estar em UTF-8 (com ou sem BOM) ou em Windows-1252.
+ */
+public class CsvStatementParser implements StatementParser {
+
+	private static final char SEPARATOR = ';';
+	
+	private int line;
+	
+	@Override
+	public void parse(InputStream inputStream, Long defaultCategoryId, Consumer<StatementRow> consumer) throws IOException {
+		
+		Reader reader = StatementEncoding.csvReader(inputStream);
+		
+		line = 1;
+		
+		List<String> header = readRecord(reader);
+		
+		if (header == null) {
+			
+			return;
+		}
+		
+		Map<String, Integer> columns = new HashMap<>();
+		
+		for (int i = 0; i < header.size(); i++) {
+			
+			columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(), i);
+		}
+		
+		if (!columns.containsKey("date") || !columns.containsKey("amount")) {
+			
+			throw new IllegalArgumentException("Cabeçalho do CSV deve conter as colunas date e amount");
+		}
+		
+		while (true) {
+			
+			int row = line;
+			
+			List<String> fields = readRecord(reader);
+			
+			if (fields == null) {
+				
+				break;
+			}
+			
+			if (fields.size() == 1 && fields.get(0).isBlank()) {
+				
+				continue;
+			}
+			
+			consumer.accept(toRow(row, fields, columns, defaultCategoryId));
+		}
+	}
+	
+	private StatementRow toRow(int row, List<String> fields, Map<String, Integer> columns, Long defaultCategoryId) {
+		
+		try {
+			
+			BigDecimal amount = StatementValues.parseAmount(value(fields, columns, "amount"));
+			
+			String description = value(fields, columns, "description");
+			
+			String name = value(fields, columns, "name");
+			
+			EntryRequestDTO entry = new EntryRequestDTO(
+				StatementValues.isBlank(name) ? description : name,
+				StatementValues.isBlank(description) ? null : description,
+				StatementValues.typeOf(value(fields, columns, "type"), amount),
+				amount.abs(),
+				StatementValues.parseDate(value(fields, columns, "date")),
+				StatementValues.parsePaid(value(fields, columns, "paid")),
+				StatementValues.parseCategoryId(value(fields, columns, "categoryid"), defaultCategoryId)
+			);
+			
+			return StatementRow.of(row, entry);
+		} catch (IllegalArgumentException e) {
+			
+			return StatementRow.error(row, e.getMessage());
+		}
+	}
+	
+	private String value(List<String> fields, Map<String, Integer> columns, String column) {
+		
+		Integer index = columns.get(column);
+		
+		return index != null && index < fields.size() ? fields.get(index) : null;
+	}
+	
+	// Lê um registro respeitando campos entre aspas (com ';', aspas duplicadas ou quebras de linha)
+	private List<String> readRecord(Reader reader) throws IOException {
+		
+		int c = reader.read();
+		
+		if (c == -1) {
+			
+			return null;
+		}
+		
+		List<String> fields = new ArrayList<>();
+		
+		StringBuilder field = new StringBuilder();
+		
+		boolean quoted = false;
+		
+		while (true) {
+			
+			if (quoted) {
+				
+				if (c == -1) {
+					
+					fields.add(field.toString());
+					
+					return fields;
+				}
+				
+				if (c == '"') {
+					
+					int next = reader.read();
+					
+					if (next != '"') {
+						
+						quoted = false;
+						c = next;
+						
+						continue;
+					}
+				} else if (c == '\n') {
+					
+					line++;
+				}
+				
+				field.append((char) c);
+			} else if (c == '"' && field.length() == 0) {
+				
+				quoted = true;
+			} else if (c == SEPARATOR) {
+				
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n' || c == -1) {
+				
+				line++;
+				fields.add(field.toString());
+				
+				return fields;
+			} else if (c != '\r') {
+				
+				field.append((char) c);
+			}
+			
+			c = reader.read();
+		}
+	}
+}
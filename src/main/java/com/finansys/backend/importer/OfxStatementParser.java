@@ -0,0 +1,118 @@
+package com.finansys.backend.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+
+/*
+ * Lê as transações (<STMTTRN>) de extratos OFX, tanto no formato SGML (tags sem
+ * fechamento) quanto no XML. Transações de extrato já foram liquidadas, então são
+ * importadas como pagas e na categoria padrão informada na importação.
+ */
+public class OfxStatementParser implements StatementParser {
+
+	@Override
+	public void parse(InputStream inputStream, Long defaultCategoryId, Consumer<StatementRow> consumer) throws IOException {
+		
+		Reader reader = StatementEncoding.ofxReader(inputStream);
+		
+		Map<String, String> transaction = null;
+		
+		String currentTag = null;
+		
+		StringBuilder text = new StringBuilder();
+		
+		int row = 0;
+		
+		int c;
+		
+		while ((c = reader.read()) != -1) {
+			
+			if (c != '<') {
+				
+				text.append((char) c);
+				
+				continue;
+			}
+			
+			if (transaction != null && currentTag != null) {
+				
+				transaction.putIfAbsent(currentTag, decode(text.toString().trim()));
+			}
+			
+			text.setLength(0);
+			
+			String tag = readTag(reader);
+			
+			if (tag.equals("STMTTRN")) {
+				
+				transaction = new HashMap<>();
+				currentTag = null;
+			} else if (tag.equals("/STMTTRN")) {
+				
+				if (transaction != null) {
+					
+					consumer.accept(toRow(++row, transaction, defaultCategoryId));
+				}
+				
+				transaction = null;
+				currentTag = null;
+			} else {
+				
+				currentTag = tag.startsWith("/") ? null : tag;
+			}
+		}
+	}
+	
+	private StatementRow toRow(int row, Map<String, String> transaction, Long defaultCategoryId) {
+		
+		try {
+			
+			BigDecimal amount = StatementValues.parseAmount(transaction.get("TRNAMT"));
+			
+			String name = transaction.get("NAME");
+			
+			String memo = transaction.get("MEMO");
+			
+			EntryRequestDTO entry = new EntryRequestDTO(
+				StatementValues.isBlank(name) ? memo : name,
+				StatementValues.isBlank(name) || StatementValues.isBlank(memo) ? null : memo,
+				StatementValues.typeOf(null, amount),
+				amount.abs(),
+				StatementValues.parseOfxDate(transaction.get("DTPOSTED")),
+				true,
+				defaultCategoryId
+			);
+			
+			return StatementRow.of(row, entry);
+		} catch (IllegalArgumentException e) {
+			
+			return StatementRow.error(row, e.getMessage());
+		}
+	}
+	
+	private String readTag(Reader reader) throws IOException {
+		
+		StringBuilder tag = new StringBuilder();
+		
+		int c;
+		
+		while ((c = reader.read()) != -1 && c != '>') {
+			
+			tag.append((char) c);
+		}
+		
+		return tag.toString().trim().toUpperCase();
+	}
+	
+	private String decode(String value) {
+		
+		return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+	}
+}
@@ -0,0 +1,101 @@
+package com.finansys.backend.importer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/*
+ * Escolhe a codificação dos extratos olhando o início do arquivo, sem consumi-lo.
+ * CSVs exportados por planilhas costumam vir em Windows-1252; OFX declara a sua no
+ * cabeçalho (ENCODING/CHARSET no SGML, encoding na declaração XML).
+ */
+final class StatementEncoding {
+
+	private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+	// Trecho inicial analisado: suficiente para o cabeçalho OFX e para detectar UTF-8 inválido no CSV
+	private static final int SAMPLE_SIZE = 64 * 1024;
+
+	private StatementEncoding() {
+	}
+
+	// UTF-8 quando o início do arquivo é UTF-8 válido; caso contrário Windows-1252
+	static Reader csvReader(InputStream inputStream) throws IOException {
+
+		BufferedInputStream buffered = new BufferedInputStream(inputStream, SAMPLE_SIZE);
+
+		byte[] sample = peek(buffered);
+
+		return reader(buffered, isUtf8(sample) ? StandardCharsets.UTF_8 : WINDOWS_1252);
+	}
+
+	// Codificação declarada no cabeçalho; sem declaração, UTF-8 no XML e ISO-8859-1 no SGML
+	static Reader ofxReader(InputStream inputStream) throws IOException {
+
+		BufferedInputStream buffered = new BufferedInputStream(inputStream, SAMPLE_SIZE);
+
+		String header = new String(peek(buffered), StandardCharsets.ISO_8859_1).toUpperCase(Locale.ROOT);
+
+		return reader(buffered, ofxCharset(header));
+	}
+
+	private static Charset ofxCharset(String header) {
+
+		int body = header.indexOf("<OFX>");
+
+		String prolog = body >= 0 ? header.substring(0, body) : header;
+
+		if (prolog.contains("UTF-8")) {
+
+			return StandardCharsets.UTF_8;
+		}
+
+		if (prolog.contains("CHARSET:1252") || prolog.contains("WINDOWS-1252")) {
+
+			return WINDOWS_1252;
+		}
+
+		if (prolog.contains("<?XML") && !prolog.contains("ENCODING=")) {
+
+			return StandardCharsets.UTF_8;
+		}
+
+		return StandardCharsets.ISO_8859_1;
+	}
+
+	private static byte[] peek(BufferedInputStream buffered) throws IOException {
+
+		buffered.mark(SAMPLE_SIZE);
+
+		byte[] sample = buffered.readNBytes(SAMPLE_SIZE);
+
+		buffered.reset();
+
+		return sample;
+	}
+
+	// Um caractere multibyte cortado no fim da amostra não conta como inválido
+	private static boolean isUtf8(byte[] sample) {
+
+		CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+
+		return !decoder.decode(ByteBuffer.wrap(sample), CharBuffer.allocate(sample.length), false).isError();
+	}
+
+	private static Reader reader(InputStream inputStream, Charset charset) {
+
+		return new BufferedReader(new InputStreamReader(inputStream, charset));
+	}
+}
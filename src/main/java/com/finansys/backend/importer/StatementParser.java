@@ -0,0 +1,14 @@
+package com.finansys.backend.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface StatementParser {
+
+	/*
+	 * Lê o extrato de forma incremental, entregando cada linha ao consumer assim que
+	 * ela é interpretada, sem carregar o arquivo inteiro em memória.
+	 */
+	void parse(InputStream inputStream, Long defaultCategoryId, Consumer<StatementRow> consumer) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.finansys.backend.importer;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+
+/*
+ * Linha lida de um extrato. Quando a linha não pôde ser interpretada, entry é nulo
+ * e error descreve o problema.
+ */
+public record StatementRow(int row, EntryRequestDTO entry, String error) {
+
+	public static StatementRow of(int row, EntryRequestDTO entry) {
+		
+		return new StatementRow(row, entry, null);
+	}
+	
+	public static StatementRow error(int row, String error) {
+		
+		return new StatementRow(row, null, error);
+	}
+}
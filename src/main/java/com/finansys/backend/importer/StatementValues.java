@@ -0,0 +1,127 @@
+package com.finansys.backend.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/*
+ * Conversões compartilhadas pelos leitores de extrato.
+ */
+final class StatementValues {
+
+	// Resolução estrita, como no formato ISO: 31/02 é rejeitada em vez de virar o último dia do mês
+	private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+	
+	private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("uuuuMMdd").withResolverStyle(ResolverStyle.STRICT);
+	
+	private StatementValues() {
+	}
+	
+	static boolean isBlank(String value) {
+		
+		return value == null || value.isBlank();
+	}
+	
+	// Aceita "1234.56", "1234,56" e "1.234,56", como o BigDecimalCommaDeserializer da API
+	static BigDecimal parseAmount(String value) {
+		
+		if (isBlank(value)) {
+			
+			throw new IllegalArgumentException("Valor é obrigatório");
+		}
+		
+		String normalized = value.trim();
+		
+		if (normalized.indexOf(',') >= 0) {
+			
+			normalized = normalized.replace(".", "").replace(",", ".");
+		}
+		
+		try {
+			
+			return new BigDecimal(normalized);
+		} catch (NumberFormatException e) {
+			
+			throw new IllegalArgumentException("Valor inválido: " + value);
+		}
+	}
+	
+	// Aceita o formato da API (dd/MM/yyyy) e o ISO (yyyy-MM-dd)
+	static LocalDate parseDate(String value) {
+		
+		if (isBlank(value)) {
+			
+			throw new IllegalArgumentException("Data é obrigatória");
+		}
+		
+		String trimmed = value.trim();
+		
+		try {
+			
+			return trimmed.indexOf('/') >= 0 ? LocalDate.parse(trimmed, BRAZILIAN_DATE) : LocalDate.parse(trimmed);
+		} catch (DateTimeParseException e) {
+			
+			throw new IllegalArgumentException("Data inválida: " + value);
+		}
+	}
+	
+	// Datas OFX começam com yyyyMMdd, seguidas opcionalmente de hora e fuso
+	static LocalDate parseOfxDate(String value) {
+		
+		if (isBlank(value) || value.trim().length() < 8) {
+			
+			throw new IllegalArgumentException("Data inválida: " + value);
+		}
+		
+		try {
+			
+			return LocalDate.parse(value.trim().substring(0, 8), OFX_DATE);
+		} catch (DateTimeParseException e) {
+			
+			throw new IllegalArgumentException("Data inválida: " + value);
+		}
+	}
+	
+	static Boolean parsePaid(String value) {
+		
+		if (isBlank(value)) {
+			
+			return null;
+		}
+		
+		return switch (value.trim().toLowerCase()) {
+			case "true", "sim", "s", "1", "pago" -> true;
+			case "false", "nao", "não", "n", "0" -> false;
+			default -> throw new IllegalArgumentException("Status de pagamento inválido: " + value);
+		};
+	}
+	
+	static Long parseCategoryId(String value, Long defaultCategoryId) {
+		
+		if (isBlank(value)) {
+			
+			return defaultCategoryId;
+		}
+		
+		try {
+			
+			return Long.valueOf(value.trim());
+		} catch (NumberFormatException e) {
+			
+			throw new IllegalArgumentException("ID da categoria inválido: " + value);
+		}
+	}
+	
+	// Extratos trazem débitos negativos: o sinal define o tipo quando ele não é informado
+	static String typeOf(String type, BigDecimal amount) {
+		
+		if (!isBlank(type)) {
+			
+			return type.trim().toLowerCase();
+		}
+		
+		return amount.signum() < 0 ? "expense" : "revenue";
+	}
+}
@@ -0,0 +1,151 @@
+package com.finansys.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Tabela balance_checkpoints: saldo acumulado (pago e projetado) de cada usuário no fim
+ * de cada mês fechado. Os checkpoints de um usuário formam uma sequência contínua de meses:
+ * são criados a partir do último existente e removidos do mês alterado em diante.
+ */
+@Repository
+public class BalanceCheckpointRepository {
+
+	// Serializa, por usuário, a criação de checkpoints e a remoção feita pelas escritas em lançamentos
+	private static final String LOCK_USER_SQL = "SELECT pg_advisory_xact_lock(hashtext('balance_checkpoints'), hashint8(?))";
+
+	// Espera uma reconstrução de entry_monthly_totals em andamento antes de ler checkpoints e totais
+	private static final String LOCK_SHARED_SQL = "LOCK TABLE balance_checkpoints IN ROW EXCLUSIVE MODE";
+
+	private static final String LOCK_EXCLUSIVE_SQL = "LOCK TABLE balance_checkpoints IN SHARE ROW EXCLUSIVE MODE";
+
+	private static final String FIND_LATEST_SQL = """
+			SELECT month, paid_balance, projected_balance
+			FROM balance_checkpoints
+			WHERE user_id = ?
+			ORDER BY month DESC
+			LIMIT 1
+			""";
+
+	private static final String FIND_FIRST_MONTH_SQL = "SELECT min(month) FROM entry_monthly_totals WHERE user_id = ?";
+
+	/*
+	 * Cria um checkpoint para cada mês do intervalo, inclusive os meses sem lançamentos:
+	 * saldo inicial mais a soma acumulada dos totais mensais de cada mês.
+	 */
+	private static final String FILL_SQL = """
+			INSERT INTO balance_checkpoints (user_id, month, paid_balance, projected_balance)
+			SELECT ?, m.month::date,
+			       ? + COALESCE(SUM(t.paid_change) OVER w, 0),
+			       ? + COALESCE(SUM(t.projected_change) OVER w, 0)
+			FROM generate_series(?::date, ?::date, interval '1 month') AS m(month)
+			LEFT JOIN (
+			    SELECT month,
+			           SUM(CASE WHEN paid THEN change ELSE 0 END) AS paid_change,
+			           SUM(change) AS projected_change
+			    FROM (
+			        SELECT month, paid, CASE WHEN type = 'revenue' THEN total ELSE -total END AS change
+			        FROM entry_monthly_totals
+			        WHERE user_id = ? AND month BETWEEN ? AND ?
+			    ) s
+			    GROUP BY month
+			) t ON t.month = m.month::date
+			WINDOW w AS (ORDER BY m.month)
+			ON CONFLICT (user_id, month) DO NOTHING
+			""";
+
+	/*
+	 * Saldo no início do dia informado: o último checkpoint de um mês anterior ao da data
+	 * mais os lançamentos entre o fim desse mês e a data, lidos pelo índice (user_id, date, id).
+	 * Sem checkpoint, soma todos os lançamentos anteriores à data.
+	 */
+	private static final String BALANCE_BEFORE_SQL = """
+			WITH checkpoint AS (
+			    SELECT month, paid_balance, projected_balance
+			    FROM balance_checkpoints
+			    WHERE user_id = ? AND month < ?
+			    ORDER BY month DESC
+			    LIMIT 1
+			)
+			SELECT COALESCE((SELECT paid_balance FROM checkpoint), 0)
+			       + COALESCE(SUM(CASE WHEN e.paid THEN CASE WHEN e.type = 'revenue' THEN e.amount ELSE -e.amount END ELSE 0 END), 0) AS paid_balance,
+			       COALESCE((SELECT projected_balance FROM checkpoint), 0)
+			       + COALESCE(SUM(CASE WHEN e.type = 'revenue' THEN e.amount ELSE -e.amount END), 0) AS projected_balance
+			FROM entries e
+			WHERE e.user_id = ?
+			AND e.date >= COALESCE((SELECT (month + interval '1 month')::date FROM checkpoint), '-infinity'::date)
+			AND e.date < ?
+			""";
+
+	private static final String DELETE_FROM_MONTH_SQL = "DELETE FROM balance_checkpoints WHERE user_id = ? AND month >= ?";
+
+	private static final String DELETE_ALL_SQL = "DELETE FROM balance_checkpoints";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public record Checkpoint(LocalDate month, BigDecimal paidBalance, BigDecimal projectedBalance) {
+	}
+
+	public record Balance(BigDecimal paid, BigDecimal projected) {
+	}
+
+	// Deve ser chamado dentro de uma transação, antes de ler ou alterar os checkpoints do usuário; os bloqueios são liberados no commit
+	public void lockUser(Long userId) {
+
+		jdbcTemplate.query(LOCK_USER_SQL, resultSet -> {
+		}, userId);
+
+		jdbcTemplate.execute(LOCK_SHARED_SQL);
+	}
+
+	public Optional<Checkpoint> findLatest(Long userId) {
+
+		List<Checkpoint> checkpoints = jdbcTemplate.query(FIND_LATEST_SQL, (resultSet, rowNum) -> new Checkpoint(
+				resultSet.getObject("month", LocalDate.class),
+				resultSet.getBigDecimal("paid_balance"),
+				resultSet.getBigDecimal("projected_balance")), userId);
+
+		return checkpoints.stream().findFirst();
+	}
+
+	// Primeiro mês com lançamentos do usuário, ou vazio se ele não tiver nenhum
+	public Optional<LocalDate> findFirstMonth(Long userId) {
+
+		return Optional.ofNullable(jdbcTemplate.queryForObject(FIND_FIRST_MONTH_SQL, LocalDate.class, userId));
+	}
+
+	// Cria os checkpoints de [fromMonth, toMonth] a partir do saldo do mês anterior a fromMonth
+	public int fill(Long userId, LocalDate fromMonth, LocalDate toMonth, Balance previous) {
+
+		return jdbcTemplate.update(FILL_SQL, userId, previous.paid(), previous.projected(), fromMonth, toMonth, userId, fromMonth, toMonth);
+	}
+
+	public Balance findBalanceBefore(Long userId, LocalDate date) {
+
+		LocalDate month = date.withDayOfMonth(1);
+
+		return jdbcTemplate.queryForObject(BALANCE_BEFORE_SQL, (resultSet, rowNum) -> new Balance(
+				resultSet.getBigDecimal("paid_balance"),
+				resultSet.getBigDecimal("projected_balance")), userId, month, userId, date);
+	}
+
+	public int deleteFromMonth(Long userId, LocalDate month) {
+
+		return jdbcTemplate.update(DELETE_FROM_MONTH_SQL, userId, month);
+	}
+
+	// Remove todos os checkpoints esperando as criações em andamento; usado após reconstruir entry_monthly_totals
+	public int deleteAll() {
+
+		jdbcTemplate.execute(LOCK_EXCLUSIVE_SQL);
+
+		return jdbcTemplate.update(DELETE_ALL_SQL);
+	}
+}
@@ -1,52 +1,83 @@
 package com.finansys.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.finansys.backend.entity.Category;
 
+// Todas as consultas recebem o id do usuário dono das categorias
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
-	Optional<Category> findByName(String name);
+	Optional<Category> findByIdAndUserId(Long id, Long userId);
 	
-	List<Category> findByNameContainingIgnoreCase(String name);
+	boolean existsByIdAndUserId(Long id, Long userId);
 	
-	boolean existsByName(String name);
+	List<Category> findByUserId(Long userId, Sort sort);
 	
-	boolean existsByNameAndIdNot(String name, Long id);
+	Page<Category> findByUserId(Long userId, Pageable pageable);
 	
-	@Query("SELECT c FROM Category c WHERE c.name LIKE %:searchTerm% OR c.description LIKE %:searchTerm%")
-	List<Category> findByNameOrDescriptionContaining(@Param("searchTerm") String searchTerm);
+	Optional<Category> findByUserIdAndName(Long userId, String name);
+	
+	List<Category> findByUserIdAndNameContainingIgnoreCase(Long userId, String name);
+	
+	boolean existsByUserIdAndName(Long userId, String name);
+	
+	boolean existsByUserIdAndNameAndIdNot(Long userId, String name, Long id);
+	
+	/*
+	 * Busca por trecho (ILIKE) ou por semelhança de palavras (<%) no nome e na descrição,
+	 * atendida pelos índices GIN de trigramas e restrita às categorias do usuário. Semelhança no nome pesa mais que na descrição.
+	 */
+	@Query(value = """
+			 SELECT c.* FROM categories c
+			 WHERE c.user_id = :userId
+			 AND (c.name ILIKE :pattern OR :term <% c.name
+			 OR c.description ILIKE :pattern OR :term <% c.description)
+			 ORDER BY GREATEST(word_similarity(:term, c.name), 0.8 * word_similarity(:term, COALESCE(c.description, ''))) DESC,
+			          c.name ASC, c.id ASC
+			 """, nativeQuery = true)
+	Slice<Category> search(@Param("userId") Long userId, @Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
 
-	@Query("SELECT c FROM Category c LEFT JOIN FETCH c.entries WHERE c.id = :id")
-	Optional<Category> findByIdWithEntries(@Param("id") Long id);
+	// Projeção leve (id, nome) para resolver categorias de uma listagem de lançamentos
+	@Query("SELECT c.id, c.name FROM Category c WHERE c.userId = :userId AND c.id IN :ids")
+	List<Object[]> findNamesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+	
+	@Query("SELECT c FROM Category c LEFT JOIN FETCH c.entries WHERE c.id = :id AND c.userId = :userId")
+	Optional<Category> findByIdWithEntries(@Param("userId") Long userId, @Param("id") Long id);
 	
-	@Query("SELECT c FROM Category c WHERE SIZE(c.entries) > :minEntries")
-	List<Category> findCategoriesWithMinimumEntries(@Param("minEntries") int minEntries);
+	@Query("SELECT c FROM Category c WHERE c.userId = :userId AND SIZE(c.entries) > :minEntries")
+	List<Category> findCategoriesWithMinimumEntries(@Param("userId") Long userId, @Param("minEntries") int minEntries);
 	
 	// Consulta nativa para estatísticas
 	@Query(value = """
 	 SELECT c.*, COUNT(e.id) as entry_count
 	 FROM categories c
-	 LEFT JOIN entries e ON c.id = e.category_id
+	 LEFT JOIN entries e ON e.user_id = c.user_id AND e.category_id = c.id
+	 WHERE c.user_id = :userId
 	 GROUP BY c.id
 	 ORDER BY entry_count DESC
 	 """, nativeQuery = true)
-	List<Object[]> findCategoriesWithEntryCount();
+	List<Object[]> findCategoriesWithEntryCount(@Param("userId") Long userId);
 	
 	// Consulta para categorias mais utilizadas
 	@Query("""
 	 SELECT c FROM Category c
-	 WHERE c.id IN (
+	 WHERE c.userId = :userId
+	 AND c.id IN (
 	 SELECT e.categoryId FROM Entry e
+	 WHERE e.userId = :userId
 	 GROUP BY e.categoryId
 	 ORDER BY COUNT(e.id) DESC
 	 )
 	 """)
-	List<Category> findMostUsedCategories(Pageable pageable);
+	List<Category> findMostUsedCategories(@Param("userId") Long userId, Pageable pageable);
 }
@@ -0,0 +1,51 @@
+package com.finansys.backend.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Tabela data_versions: um contador por usuário e conjunto de dados (entries, categories),
+ * incrementado na transação que altera o conjunto. A linha é criada na primeira escrita;
+ * sem linha, a versão é 0.
+ */
+@Repository
+public class DataVersionRepository {
+
+	private static final String FIND_BY_USER_SQL = "SELECT name, version FROM data_versions WHERE user_id = ?";
+
+	private static final String INCREMENT_SQL = """
+			INSERT INTO data_versions (user_id, name, version)
+			SELECT user_id, name, 1 FROM unnest(?::int8[], ?::varchar[]) AS v(user_id, name)
+			ON CONFLICT (user_id, name) DO UPDATE
+			SET version = data_versions.version + 1
+			""";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public record Key(Long userId, String name) {
+	}
+
+	public Map<String, Long> findByUserId(Long userId) {
+
+		Map<String, Long> versions = new HashMap<>();
+
+		jdbcTemplate.query(FIND_BY_USER_SQL, resultSet -> {
+
+			versions.put(resultSet.getString("name"), resultSet.getLong("version"));
+		}, userId);
+
+		return versions;
+	}
+
+	// As chaves devem vir ordenadas, para que transações concorrentes bloqueiem as linhas na mesma ordem
+	public void increment(List<Key> keys) {
+
+		jdbcTemplate.update(INCREMENT_SQL, keys.stream().map(Key::userId).toArray(Long[]::new), keys.stream().map(Key::name).toArray(String[]::new));
+	}
+}
@@ -0,0 +1,317 @@
+package com.finansys.backend.repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.entity.EntryRecurrence;
+
+/*
+ * Escritas em lote na tabela entries via JDBC. O id de Entry usa IDENTITY, o que
+ * impede o Hibernate de agrupar INSERTs; aqui os INSERTs são enviados em lotes JDBC
+ * e, com reWriteBatchedInserts=true na URL do banco, o driver do Postgres os reescreve
+ * como INSERTs de várias linhas. Importações grandes usam COPY, que evita o custo de
+ * planejar e executar um INSERT por grupo de linhas. Atualizações e exclusões em massa
+ * são executadas como um único comando sobre o conjunto de ids, restrito aos
+ * lançamentos do usuário.
+ */
+@Repository
+public class EntryBatchRepository {
+
+	private static final String NEXT_IDS_SQL = "SELECT nextval(pg_get_serial_sequence('entries', 'id')) FROM generate_series(1, ?)";
+	
+	private static final String INSERT_SQL = """
+			INSERT INTO entries (id, user_id, name, description, amount, category_id, date, type, paid, recurrence_id, occurrence, created_at, updated_at)
+			VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+			""";
+	
+	private static final String COPY_SQL = """
+			COPY entries (id, user_id, name, description, amount, category_id, date, type, paid, created_at, updated_at)
+			FROM STDIN (FORMAT csv)
+			""";
+	
+	// Atualização em um único comando: os novos valores chegam como arrays e são desaninhados em uma tabela virtual
+	private static final String UPDATE_SQL = """
+			UPDATE entries e
+			SET name = v.name, description = v.description, type = v.type, amount = v.amount,
+			    date = v.date, category_id = v.category_id, paid = COALESCE(v.paid, e.paid), updated_at = ?
+			FROM unnest(?::int8[], ?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::date[], ?::int8[], ?::bool[])
+			     AS v(id, name, description, type, amount, date, category_id, paid)
+			WHERE e.user_id = ? AND e.id = v.id
+			RETURNING e.id, e.date, e.category_id, e.type, e.paid, e.amount
+			""";
+	
+	private static final String DELETE_SQL = "DELETE FROM entries WHERE user_id = ? AND id = ANY(?) RETURNING id, date, category_id, type, paid, amount";
+	
+	/*
+	 * Ocorrências futuras e não pagas de uma série recebem os novos valores em um único comando.
+	 * O CTE bloqueia as linhas e devolve os valores anteriores para as agregações. O nome das
+	 * parcelas segue EntryRecurrence.occurrenceName.
+	 */
+	private static final String UPDATE_SERIES_SQL = """
+			WITH previous AS (
+			    SELECT id, date, category_id, type, amount
+			    FROM entries
+			    WHERE user_id = ? AND recurrence_id = ? AND date >= ? AND paid = false
+			    FOR UPDATE
+			)
+			UPDATE entries e
+			SET name = CASE WHEN ?::int4 IS NULL THEN ?::varchar ELSE ?::varchar || ' (' || e.occurrence || '/' || ?::int4 || ')' END,
+			    description = ?, type = ?, amount = ?, category_id = ?, updated_at = ?
+			FROM previous p
+			WHERE e.id = p.id AND e.date = p.date
+			RETURNING p.date, p.category_id, p.type, p.amount
+			""";
+	
+	private static final String DELETE_SERIES_SQL = """
+			DELETE FROM entries
+			WHERE user_id = ? AND recurrence_id = ? AND date >= ? AND paid = false
+			RETURNING date, category_id, type, amount
+			""";
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	// Valores de uma ocorrência não paga antes da alteração ou exclusão
+	public record SeriesOccurrence(LocalDate date, Long categoryId, String type, BigDecimal amount) {
+	}
+	
+	// Lançamento efetivamente alterado (valores novos) ou excluído (valores removidos) pelo comando
+	public record ChangedEntry(Long id, LocalDate date, Long categoryId, String type, boolean paid, BigDecimal amount) {
+	}
+	
+	// Reserva os ids da sequence em uma única consulta e os atribui aos lançamentos antes do INSERT
+	public void insertAll(List<Entry> entries, int batchSize) {
+		
+		if (entries.isEmpty()) {
+			
+			return;
+		}
+		
+		List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, entries.size());
+		
+		LocalDateTime now = LocalDateTime.now();
+		
+		for (int i = 0; i < entries.size(); i++) {
+			
+			Entry entry = entries.get(i);
+			entry.setId(ids.get(i));
+			entry.setCreatedAt(now);
+			entry.setUpdatedAt(now);
+		}
+		
+		jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (statement, entry) -> {
+			
+			statement.setLong(1, entry.getId());
+			statement.setLong(2, entry.getUserId());
+			statement.setString(3, entry.getName());
+			statement.setString(4, entry.getDescription());
+			statement.setBigDecimal(5, entry.getAmount());
+			statement.setLong(6, entry.getCategoryId());
+			statement.setObject(7, entry.getDate());
+			statement.setString(8, entry.getType());
+			statement.setBoolean(9, Boolean.TRUE.equals(entry.getPaid()));
+			statement.setObject(10, entry.getRecurrenceId(), Types.BIGINT);
+			statement.setObject(11, entry.getOccurrence(), Types.INTEGER);
+			statement.setObject(12, now);
+			statement.setObject(13, now);
+		});
+	}
+	
+	/*
+	 * Insere lançamentos sem recorrência com COPY na conexão da transação atual. As linhas
+	 * são enviadas como CSV: textos sempre entre aspas (aspas internas duplicadas) e
+	 * descrição nula como campo vazio sem aspas, que o COPY lê como NULL.
+	 */
+	public void copyAll(List<Entry> entries) {
+		
+		if (entries.isEmpty()) {
+			
+			return;
+		}
+		
+		List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, entries.size());
+		
+		LocalDateTime now = LocalDateTime.now();
+		
+		StringBuilder csv = new StringBuilder(entries.size() * 96);
+		
+		for (int i = 0; i < entries.size(); i++) {
+			
+			Entry entry = entries.get(i);
+			entry.setId(ids.get(i));
+			entry.setCreatedAt(now);
+			entry.setUpdatedAt(now);
+			
+			csv.append(entry.getId()).append(',')
+					.append(entry.getUserId()).append(',');
+			appendQuoted(csv, entry.getName());
+			csv.append(',');
+			
+			if (entry.getDescription() != null) {
+				
+				appendQuoted(csv, entry.getDescription());
+			}
+			
+			csv.append(',').append(entry.getAmount().toPlainString())
+					.append(',').append(entry.getCategoryId())
+					.append(',').append(entry.getDate())
+					.append(',').append(entry.getType())
+					.append(',').append(Boolean.TRUE.equals(entry.getPaid()))
+					.append(',').append(now)
+					.append(',').append(now)
+					.append('\n');
+		}
+		
+		jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+			
+			try {
+				
+				return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+			} catch (IOException e) {
+				
+				throw new SQLException("Falha ao enviar lançamentos via COPY", e);
+			}
+		});
+	}
+	
+	private void appendQuoted(StringBuilder csv, String value) {
+		
+		csv.append('"');
+		
+		for (int i = 0; i < value.length(); i++) {
+			
+			char c = value.charAt(i);
+			
+			if (c == '"') {
+				
+				csv.append('"');
+			}
+			
+			csv.append(c);
+		}
+		
+		csv.append('"');
+	}
+	
+	// Lançamentos com paid nulo mantêm o status de pagamento atual; devolve apenas as linhas atualizadas
+	public List<ChangedEntry> updateAll(Long userId, List<Entry> entries) {
+		
+		if (entries.isEmpty()) {
+			
+			return List.of();
+		}
+		
+		int size = entries.size();
+		
+		Long[] ids = new Long[size];
+		String[] names = new String[size];
+		String[] descriptions = new String[size];
+		String[] types = new String[size];
+		BigDecimal[] amounts = new BigDecimal[size];
+		Date[] dates = new Date[size];
+		Long[] categoryIds = new Long[size];
+		Boolean[] paid = new Boolean[size];
+		
+		for (int i = 0; i < size; i++) {
+			
+			Entry entry = entries.get(i);
+			ids[i] = entry.getId();
+			names[i] = entry.getName();
+			descriptions[i] = entry.getDescription();
+			types[i] = entry.getType();
+			amounts[i] = entry.getAmount();
+			dates[i] = Date.valueOf(entry.getDate());
+			categoryIds[i] = entry.getCategoryId();
+			paid[i] = entry.getPaid();
+		}
+		
+		return jdbcTemplate.query(connection -> {
+			
+			PreparedStatement statement = connection.prepareStatement(UPDATE_SQL);
+			statement.setObject(1, LocalDateTime.now());
+			statement.setArray(2, connection.createArrayOf("int8", ids));
+			statement.setArray(3, connection.createArrayOf("varchar", names));
+			statement.setArray(4, connection.createArrayOf("varchar", descriptions));
+			statement.setArray(5, connection.createArrayOf("varchar", types));
+			statement.setArray(6, connection.createArrayOf("numeric", amounts));
+			statement.setArray(7, connection.createArrayOf("date", dates));
+			statement.setArray(8, connection.createArrayOf("int8", categoryIds));
+			statement.setArray(9, connection.createArrayOf("bool", paid));
+			statement.setLong(10, userId);
+			
+			return statement;
+		}, this::toChangedEntry);
+	}
+	
+	// Devolve apenas as linhas excluídas por este comando
+	public List<ChangedEntry> deleteAllById(Long userId, Collection<Long> ids) {
+		
+		if (ids.isEmpty()) {
+			
+			return List.of();
+		}
+		
+		return jdbcTemplate.query(connection -> {
+			
+			PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+			statement.setLong(1, userId);
+			statement.setArray(2, connection.createArrayOf("int8", ids.toArray(new Long[0])));
+			
+			return statement;
+		}, this::toChangedEntry);
+	}
+	
+	// Aplica os valores da série às ocorrências a partir de fromDate que ainda não foram pagas
+	public List<SeriesOccurrence> updateSeries(Long userId, EntryRecurrence recurrence, LocalDate fromDate) {
+		
+		SqlParameterValue installments = new SqlParameterValue(Types.INTEGER, recurrence.getInstallments());
+		
+		return jdbcTemplate.query(UPDATE_SERIES_SQL, this::toSeriesOccurrence,
+				userId, recurrence.getId(), fromDate,
+				installments, recurrence.getName(), recurrence.getName(), installments,
+				recurrence.getDescription(), recurrence.getType(), recurrence.getAmount(), recurrence.getCategoryId(), LocalDateTime.now());
+	}
+	
+	public List<SeriesOccurrence> deleteSeries(Long userId, Long recurrenceId, LocalDate fromDate) {
+		
+		return jdbcTemplate.query(DELETE_SERIES_SQL, this::toSeriesOccurrence, userId, recurrenceId, fromDate);
+	}
+	
+	private ChangedEntry toChangedEntry(ResultSet resultSet, int rowNum) throws SQLException {
+		
+		return new ChangedEntry(
+				resultSet.getLong("id"),
+				resultSet.getObject("date", LocalDate.class),
+				resultSet.getLong("category_id"),
+				resultSet.getString("type"),
+				resultSet.getBoolean("paid"),
+				resultSet.getBigDecimal("amount"));
+	}
+	
+	private SeriesOccurrence toSeriesOccurrence(ResultSet resultSet, int rowNum) throws SQLException {
+		
+		return new SeriesOccurrence(
+				resultSet.getObject("date", LocalDate.class),
+				resultSet.getLong("category_id"),
+				resultSet.getString("type"),
+				resultSet.getBigDecimal("amount"));
+	}
+}
@@ -0,0 +1,206 @@
+package com.finansys.backend.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Tabela entry_monthly_totals: soma e quantidade de lançamentos por (usuário, mês,
+ * categoria, tipo, pago). É mantida de forma incremental na mesma transação de cada escrita em
+ * entries, então os totais são lidos sem percorrer a tabela de lançamentos.
+ */
+@Repository
+public class EntryMonthlyTotalRepository {
+
+	// As variações chegam como arrays e são somadas às linhas existentes (ou criam a linha)
+	private static final String APPLY_DELTAS_SQL = """
+			INSERT INTO entry_monthly_totals (user_id, month, category_id, type, paid, total, entry_count)
+			SELECT * FROM unnest(?::int8[], ?::date[], ?::int8[], ?::varchar[], ?::bool[], ?::numeric[], ?::int8[])
+			ON CONFLICT (user_id, month, category_id, type, paid) DO UPDATE
+			SET total = entry_monthly_totals.total + EXCLUDED.total,
+			    entry_count = entry_monthly_totals.entry_count + EXCLUDED.entry_count
+			""";
+	
+	private static final String DELETE_EMPTY_SQL = """
+			DELETE FROM entry_monthly_totals t
+			USING unnest(?::int8[], ?::date[], ?::int8[], ?::varchar[], ?::bool[]) AS k(user_id, month, category_id, type, paid)
+			WHERE t.user_id = k.user_id AND t.month = k.month AND t.category_id = k.category_id AND t.type = k.type AND t.paid = k.paid
+			AND t.entry_count = 0
+			""";
+	
+	// Bloqueia escritas em entries até o fim da transação para que a reconstrução não perca alterações concorrentes
+	private static final String LOCK_ENTRIES_SQL = "LOCK TABLE entries IN SHARE MODE";
+	
+	private static final String DELETE_ALL_SQL = "DELETE FROM entry_monthly_totals";
+	
+	private static final String REBUILD_SQL = """
+			INSERT INTO entry_monthly_totals (user_id, month, category_id, type, paid, total, entry_count)
+			SELECT e.user_id, date_trunc('month', e.date)::date, e.category_id, e.type, e.paid, SUM(e.amount), COUNT(*)
+			FROM entries e
+			GROUP BY 1, 2, 3, 4, 5
+			""";
+	
+	private static final String SUM_BY_TYPE_SQL = "SELECT COALESCE(SUM(total), 0) FROM entry_monthly_totals WHERE user_id = ? AND type = ? AND paid = ?";
+	
+	private static final String SUM_BY_CATEGORY_SQL = "SELECT COALESCE(SUM(total), 0) FROM entry_monthly_totals WHERE user_id = ? AND category_id = ? AND paid = ?";
+	
+	private static final String COUNT_BY_CATEGORY_SQL = """
+			SELECT category_id, SUM(entry_count) AS entry_count
+			FROM entry_monthly_totals
+			WHERE user_id = ? AND category_id = ANY(?::int8[])
+			GROUP BY category_id
+			""";
+	
+	/*
+	 * Totais pagos por categoria em um período: os meses inteiros do período vêm desta
+	 * tabela e só os dias dos meses incompletos do início e do fim são lidos de entries,
+	 * então períodos de vários anos não percorrem os lançamentos.
+	 */
+	private static final String SUM_BY_CATEGORY_IN_PERIOD_SQL = """
+			SELECT s.category_id, c.name AS category_name,
+			       SUM(CASE WHEN s.type = 'revenue' THEN s.total ELSE 0 END) AS revenue,
+			       SUM(CASE WHEN s.type = 'expense' THEN s.total ELSE 0 END) AS expense
+			FROM (
+			    SELECT category_id, type, total
+			    FROM entry_monthly_totals
+			    WHERE user_id = ? AND paid = true AND month >= ? AND month < ?
+			    UNION ALL
+			    SELECT category_id, type, amount
+			    FROM entries
+			    WHERE user_id = ? AND paid = true AND date BETWEEN ? AND ?
+			    AND (date < ? OR date >= ?)
+			) s
+			LEFT JOIN categories c ON c.id = s.category_id
+			GROUP BY s.category_id, c.name
+			""";
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	public record Delta(Long userId, LocalDate month, Long categoryId, String type, boolean paid, BigDecimal total, long entryCount) {
+	}
+	
+	public record CategoryTotal(Long categoryId, String categoryName, BigDecimal revenue, BigDecimal expense) {
+	}
+	
+	/*
+	 * Aplica as variações em um único comando. As variações devem vir ordenadas pela
+	 * chave, para que transações concorrentes bloqueiem as linhas sempre na mesma ordem.
+	 */
+	public void applyDeltas(List<Delta> deltas) {
+		
+		if (deltas.isEmpty()) {
+			
+			return;
+		}
+		
+		int size = deltas.size();
+		
+		Long[] userIds = new Long[size];
+		Date[] months = new Date[size];
+		Long[] categoryIds = new Long[size];
+		String[] types = new String[size];
+		Boolean[] paid = new Boolean[size];
+		BigDecimal[] totals = new BigDecimal[size];
+		Long[] entryCounts = new Long[size];
+		
+		for (int i = 0; i < size; i++) {
+			
+			Delta delta = deltas.get(i);
+			userIds[i] = delta.userId();
+			months[i] = Date.valueOf(delta.month());
+			categoryIds[i] = delta.categoryId();
+			types[i] = delta.type();
+			paid[i] = delta.paid();
+			totals[i] = delta.total();
+			entryCounts[i] = delta.entryCount();
+		}
+		
+		jdbcTemplate.update(connection -> {
+			
+			PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS_SQL);
+			statement.setArray(1, connection.createArrayOf("int8", userIds));
+			statement.setArray(2, connection.createArrayOf("date", months));
+			statement.setArray(3, connection.createArrayOf("int8", categoryIds));
+			statement.setArray(4, connection.createArrayOf("varchar", types));
+			statement.setArray(5, connection.createArrayOf("bool", paid));
+			statement.setArray(6, connection.createArrayOf("numeric", totals));
+			statement.setArray(7, connection.createArrayOf("int8", entryCounts));
+			
+			return statement;
+		});
+		
+		// Remove os grupos que ficaram sem lançamentos
+		jdbcTemplate.update(connection -> {
+			
+			PreparedStatement statement = connection.prepareStatement(DELETE_EMPTY_SQL);
+			statement.setArray(1, connection.createArrayOf("int8", userIds));
+			statement.setArray(2, connection.createArrayOf("date", months));
+			statement.setArray(3, connection.createArrayOf("int8", categoryIds));
+			statement.setArray(4, connection.createArrayOf("varchar", types));
+			statement.setArray(5, connection.createArrayOf("bool", paid));
+			
+			return statement;
+		});
+	}
+	
+	// Recalcula a tabela inteira a partir de entries; deve ser chamado dentro de uma transação
+	public int rebuild() {
+		
+		jdbcTemplate.execute(LOCK_ENTRIES_SQL);
+		jdbcTemplate.update(DELETE_ALL_SQL);
+		
+		return jdbcTemplate.update(REBUILD_SQL);
+	}
+	
+	public BigDecimal sumByTypeAndPaid(Long userId, String type, boolean paid) {
+		
+		return jdbcTemplate.queryForObject(SUM_BY_TYPE_SQL, BigDecimal.class, userId, type, paid);
+	}
+	
+	public BigDecimal sumByCategoryAndPaid(Long userId, Long categoryId, boolean paid) {
+		
+		return jdbcTemplate.queryForObject(SUM_BY_CATEGORY_SQL, BigDecimal.class, userId, categoryId, paid);
+	}
+	
+	// Quantidade de lançamentos por categoria; categorias sem lançamentos não aparecem no mapa
+	public Map<Long, Long> countByCategoryIds(Long userId, Collection<Long> categoryIds) {
+		
+		Map<Long, Long> counts = new HashMap<>();
+		
+		if (categoryIds.isEmpty()) {
+			
+			return counts;
+		}
+		
+		jdbcTemplate.query(COUNT_BY_CATEGORY_SQL, resultSet -> {
+			
+			counts.put(resultSet.getLong("category_id"), resultSet.getLong("entry_count"));
+		}, userId, categoryIds.toArray(Long[]::new));
+		
+		return counts;
+	}
+	
+	public List<CategoryTotal> sumByCategoryInPeriod(Long userId, LocalDate from, LocalDate to) {
+		
+		// Meses inteiros: [firstMonth, endMonth)
+		LocalDate firstMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+		LocalDate endMonth = to.plusDays(1).getDayOfMonth() == 1 ? to.plusDays(1) : to.withDayOfMonth(1);
+		
+		return jdbcTemplate.query(SUM_BY_CATEGORY_IN_PERIOD_SQL, (resultSet, rowNum) -> new CategoryTotal(
+				resultSet.getLong("category_id"),
+				resultSet.getString("category_name"),
+				resultSet.getBigDecimal("revenue"),
+				resultSet.getBigDecimal("expense")),
+				userId, firstMonth, endMonth, userId, from, to, firstMonth, endMonth);
+	}
+}
@@ -0,0 +1,24 @@
+package com.finansys.backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Partições anuais de entries. A criação fica na função ensure_entries_partitions
+ * (migração V202610181700), que também move para a partição nova as linhas do ano
+ * que estavam na partição padrão.
+ */
+@Repository
+public class EntryPartitionRepository {
+
+	private static final String ENSURE_PARTITIONS_SQL = "SELECT public.ensure_entries_partitions(?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public int ensurePartitions(int fromYear, int toYear) {
+
+		return jdbcTemplate.queryForObject(ENSURE_PARTITIONS_SQL, Integer.class, fromYear, toYear);
+	}
+}
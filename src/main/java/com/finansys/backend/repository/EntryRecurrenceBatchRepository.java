@@ -0,0 +1,98 @@
+package com.finansys.backend.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.finansys.backend.entity.EntryRecurrence;
+
+/*
+ * Leitura e atualização em lote das séries pelo job de materialização. As séries pendentes
+ * são bloqueadas com SKIP LOCKED, então mais de uma instância pode materializar ao mesmo
+ * tempo sem criar ocorrências duplicadas, e o avanço de todas as séries do lote é gravado
+ * em um único comando.
+ */
+@Repository
+public class EntryRecurrenceBatchRepository {
+
+	private static final String CLAIM_DUE_SQL = """
+			SELECT * FROM entry_recurrences
+			WHERE next_date <= ?
+			ORDER BY next_date, id
+			LIMIT ?
+			FOR UPDATE SKIP LOCKED
+			""";
+
+	private static final String UPDATE_PROGRESS_SQL = """
+			UPDATE entry_recurrences r
+			SET next_occurrence = v.next_occurrence, next_date = v.next_date
+			FROM unnest(?::int8[], ?::int4[], ?::date[]) AS v(id, next_occurrence, next_date)
+			WHERE r.id = v.id
+			""";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Deve ser chamado dentro de uma transação; as séries ficam bloqueadas até o commit
+	public List<EntryRecurrence> claimDue(LocalDate until, int limit) {
+
+		return jdbcTemplate.query(CLAIM_DUE_SQL, this::toRecurrence, until, limit);
+	}
+
+	public int updateProgress(List<EntryRecurrence> recurrences) {
+
+		if (recurrences.isEmpty()) {
+
+			return 0;
+		}
+
+		int size = recurrences.size();
+
+		Long[] ids = new Long[size];
+		Integer[] nextOccurrences = new Integer[size];
+		Date[] nextDates = new Date[size];
+
+		for (int i = 0; i < size; i++) {
+
+			EntryRecurrence recurrence = recurrences.get(i);
+			ids[i] = recurrence.getId();
+			nextOccurrences[i] = recurrence.getNextOccurrence();
+			nextDates[i] = recurrence.getNextDate() != null ? Date.valueOf(recurrence.getNextDate()) : null;
+		}
+
+		return jdbcTemplate.update(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(UPDATE_PROGRESS_SQL);
+			statement.setArray(1, connection.createArrayOf("int8", ids));
+			statement.setArray(2, connection.createArrayOf("int4", nextOccurrences));
+			statement.setArray(3, connection.createArrayOf("date", nextDates));
+
+			return statement;
+		});
+	}
+
+	private EntryRecurrence toRecurrence(ResultSet resultSet, int rowNum) throws SQLException {
+
+		return EntryRecurrence.builder()
+				.id(resultSet.getLong("id"))
+				.userId(resultSet.getLong("user_id"))
+				.name(resultSet.getString("name"))
+				.description(resultSet.getString("description"))
+				.type(resultSet.getString("type"))
+				.amount(resultSet.getBigDecimal("amount"))
+				.categoryId(resultSet.getLong("category_id"))
+				.frequency(resultSet.getString("frequency"))
+				.startDate(resultSet.getObject("start_date", LocalDate.class))
+				.installments(resultSet.getObject("installments", Integer.class))
+				.nextOccurrence(resultSet.getInt("next_occurrence"))
+				.nextDate(resultSet.getObject("next_date", LocalDate.class))
+				.build();
+	}
+}
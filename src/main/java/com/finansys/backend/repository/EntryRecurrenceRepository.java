@@ -0,0 +1,26 @@
+package com.finansys.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import com.finansys.backend.entity.EntryRecurrence;
+
+import jakarta.persistence.LockModeType;
+
+// Todas as consultas recebem o id do usuário dono das séries (índice (user_id, category_id))
+public interface EntryRecurrenceRepository extends JpaRepository<EntryRecurrence, Long> {
+
+	Optional<EntryRecurrence> findByIdAndUserId(Long id, Long userId);
+	
+	// SELECT ... FOR UPDATE: espera o lote do job que reivindicou a série e impede que ele a reivindique depois
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<EntryRecurrence> findForUpdateByIdAndUserId(Long id, Long userId);
+	
+	List<EntryRecurrence> findByUserId(Long userId, Sort sort);
+	
+	boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
+}
@@ -2,70 +2,116 @@ package com.finansys.backend.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.finansys.backend.entity.Entry;
 
+import jakarta.persistence.LockModeType;
+
+/*
+ * Todas as consultas recebem o id do usuário dono dos lançamentos e começam pelos
+ * índices (user_id, ...), então leem apenas a faixa do usuário.
+ */
 public interface EntryRepository extends JpaRepository<Entry, Long>{
 
-	List<Entry> findByCategoryId(Long categoryId);
+	Optional<Entry> findByIdAndUserId(Long id, Long userId);
+	
+	// SELECT ... FOR UPDATE: escritas concorrentes no mesmo lançamento leem o estado anterior uma de cada vez
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<Entry> findForUpdateByIdAndUserId(Long id, Long userId);
+	
+	// Bloqueia os lançamentos de uma escrita em lote, em ordem de id para que lotes concorrentes não se bloqueiem mutuamente
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<Entry> findForUpdateByUserIdAndIdInOrderById(Long userId, Collection<Long> ids);
+	
+	List<Entry> findByUserId(Long userId, Sort sort);
+	
+	Page<Entry> findByUserId(Long userId, Pageable pageable);
+	
+	List<Entry> findByUserIdAndCategoryId(Long userId, Long categoryId);
 	
-	Page<Entry> findByCategoryId(Long categoryId, Pageable pageable);
+	Page<Entry> findByUserIdAndCategoryId(Long userId, Long categoryId, Pageable pageable);
 	
-	List<Entry> findByType(String type);
+	boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
 	
-	Page<Entry> findByType(String type, Pageable pageable);
+	List<Entry> findByUserIdAndType(Long userId, String type);
 	
-	List<Entry> findByPaid(Boolean paid);
+	Page<Entry> findByUserIdAndType(Long userId, String type, Pageable pageable);
 	
-	Page<Entry> findByPaid(Boolean paid, Pageable pageable);
+	List<Entry> findByUserIdAndPaid(Long userId, Boolean paid);
 	
-	List<Entry> findByDateBetween(LocalDate startDate, LocalDate endDate);
+	Page<Entry> findByUserIdAndPaid(Long userId, Boolean paid, Pageable pageable);
 	
-	Page<Entry> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+	List<Entry> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 	
-	List<Entry> findByTypeAndPaid(String type, Boolean paid);
+	Page<Entry> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
 	
-	List<Entry> findByCategoryIdAndDateBetween(Long categoryId, LocalDate startDate, LocalDate endDate);
+	List<Entry> findByUserIdAndTypeAndPaid(Long userId, String type, Boolean paid);
 	
-	List<Entry> findByTypeAndDateBetween(String type, LocalDate startDate, LocalDate endDate);
+	List<Entry> findByUserIdAndCategoryIdAndDateBetween(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate);
 	
-	List<Entry> findByOrderByDateDesc();
+	List<Entry> findByUserIdAndTypeAndDateBetween(Long userId, String type, LocalDate startDate, LocalDate endDate);
 	
-	List<Entry> findByCategoryIdOrderByDateDesc(Long categoryId);
+	List<Entry> findByUserIdOrderByDateDesc(Long userId);
 	
-	@Query("SELECT SUM(e.amount) FROM Entry e WHERE e.type = :type AND e.paid = :paid")
-	Optional<BigDecimal> sumAmountByTypeAndPaid(@Param("type") String type, @Param("paid") boolean paid);
+	// Paginação por cursor (keyset): usa o índice composto (user_id, date, id) e não executa COUNT
+	List<Entry> findByUserIdOrderByDateDescIdDesc(Long userId, Pageable pageable);
 	
-	@Query("SELECT SUM(e.amount) FROM Entry e WHERE e.categoryId = :categoryId AND e.paid = :paid")
-	Optional<BigDecimal> sumAmountByCategoryAndPaid(@Param("categoryId") Long categoryId, @Param("paid") boolean paid);
+	List<Entry> findByUserIdOrderByDateAscIdAsc(Long userId, Pageable pageable);
+	
+	@Query(value = """
+			 SELECT * FROM entries e
+			 WHERE e.user_id = :userId
+			 AND (e.date, e.id) < (:date, :id)
+			 ORDER BY e.date DESC, e.id DESC
+			 LIMIT :limit
+			 """, nativeQuery = true)
+	List<Entry> findPageBeforeCursor(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("id") Long id, @Param("limit") int limit);
+	
+	@Query(value = """
+			 SELECT * FROM entries e
+			 WHERE e.user_id = :userId
+			 AND (e.date, e.id) > (:date, :id)
+			 ORDER BY e.date ASC, e.id ASC
+			 LIMIT :limit
+			 """, nativeQuery = true)
+	List<Entry> findPageAfterCursor(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("id") Long id, @Param("limit") int limit);
+	
+	List<Entry> findByUserIdAndCategoryIdOrderByDateDesc(Long userId, Long categoryId);
 	
 	@Query("""
 			 SELECT SUM(e.amount) FROM Entry e
-			 WHERE e.type = :type
+			 WHERE e.userId = :userId
+			 AND e.type = :type
 			 AND e.date BETWEEN :startDate AND :endDate
 			 AND e.paid = true
 			 """)
 	Optional<BigDecimal> sumAmountByTypeAndDateRangeAndPaid(
-	@Param("type") String type, @Param("startDate") LocalDate startDate,
+	@Param("userId") Long userId, @Param("type") String type, @Param("startDate") LocalDate startDate,
 	@Param("endDate") LocalDate endDate);
 	
 	// Consultas para dashboard
 	@Query("""
 	 SELECT e.type, SUM(e.amount)
 	 FROM Entry e
-	 WHERE e.date BETWEEN :startDate AND :endDate
+	 WHERE e.userId = :userId
+	 AND e.date BETWEEN :startDate AND :endDate
 	 AND e.paid = true
 	 GROUP BY e.type
 	 """)
 	List<Object[]> sumAmountByTypeInPeriod(
+	@Param("userId") Long userId,
 	@Param("startDate") LocalDate startDate,
 	@Param("endDate") LocalDate endDate);
 	
@@ -73,43 +119,103 @@ public interface EntryRepository extends JpaRepository<Entry, Long>{
 			 SELECT c.name, SUM(e.amount)
 			 FROM Entry e
 			 JOIN e.category c
-			 WHERE e.date BETWEEN :startDate AND :endDate
+			 WHERE e.userId = :userId
+			 AND e.date BETWEEN :startDate AND :endDate
 			 AND e.paid = true
 			 GROUP BY c.name
 			 ORDER BY SUM(e.amount) DESC
 			 """)
 	List<Object[]> sumAmountByCategoryInPeriod(
+	@Param("userId") Long userId,
 	@Param("startDate") LocalDate startDate,
 	@Param("endDate") LocalDate endDate);
 	
 	// Consultas para análise financeira
 	@Query("""
-	 SELECT DATE(e.date), SUM(CASE WHEN e.type = 'RECEITA' THEN e.amount ELSE
+	 SELECT DATE(e.date), SUM(CASE WHEN e.type = 'revenue' THEN e.amount ELSE
 	0 END) as receitas,
-	 SUM(CASE WHEN e.type = 'DESPESA' THEN e.amount ELSE 0 END) as
+	 SUM(CASE WHEN e.type = 'expense' THEN e.amount ELSE 0 END) as
 	despesas
 	 FROM Entry e
-	 WHERE e.date BETWEEN :startDate AND :endDate
+	 WHERE e.userId = :userId
+	 AND e.date BETWEEN :startDate AND :endDate
 	 AND e.paid = true
 	 GROUP BY DATE(e.date)
 	 ORDER BY DATE(e.date)
 	 """)
 	List<Object[]> getDailyFinancialSummary(
+	@Param("userId") Long userId,
+	@Param("startDate") LocalDate startDate,
+	@Param("endDate") LocalDate endDate);
+	
+	/*
+	 * Dashboard em uma única leitura: totais por tipo, por categoria e por dia dos
+	 * lançamentos pagos no período. A coluna grouping_set identifica o conjunto de
+	 * cada linha (bits de GROUPING na ordem type, category_id, date; 0 = agrupado):
+	 * 3 = por tipo, 5 = por categoria, 6 = por dia.
+	 */
+	@Query(value = """
+			 SELECT GROUPING(e.type, e.category_id, e.date) AS grouping_set,
+			        e.type, e.category_id, c.name AS category_name, e.date,
+			        SUM(CASE WHEN e.type = 'revenue' THEN e.amount ELSE 0 END) AS revenue,
+			        SUM(CASE WHEN e.type = 'expense' THEN e.amount ELSE 0 END) AS expense
+			 FROM entries e
+			 LEFT JOIN categories c ON c.id = e.category_id
+			 WHERE e.user_id = :userId
+			 AND e.date BETWEEN :startDate AND :endDate
+			 AND e.paid = true
+			 GROUP BY GROUPING SETS ((e.type), (e.category_id, c.name), (e.date))
+			 """, nativeQuery = true)
+	List<Object[]> getDashboardSummary(
+	@Param("userId") Long userId,
+	@Param("startDate") LocalDate startDate,
+	@Param("endDate") LocalDate endDate);
+	
+	// Variação diária do saldo no período: [date, variação dos pagos, variação de todos os lançamentos]
+	@Query(value = """
+			 SELECT e.date,
+			        SUM(CASE WHEN e.paid THEN CASE WHEN e.type = 'revenue' THEN e.amount ELSE -e.amount END ELSE 0 END) AS paid_change,
+			        SUM(CASE WHEN e.type = 'revenue' THEN e.amount ELSE -e.amount END) AS projected_change
+			 FROM entries e
+			 WHERE e.user_id = :userId
+			 AND e.date BETWEEN :startDate AND :endDate
+			 GROUP BY e.date
+			 ORDER BY e.date
+			 """, nativeQuery = true)
+	List<Object[]> getDailyBalanceChanges(
+	@Param("userId") Long userId,
 	@Param("startDate") LocalDate startDate,
 	@Param("endDate") LocalDate endDate);
 	
-	// Consulta para entradas em atraso
-	@Query("SELECT e FROM Entry e WHERE e.paid = false AND e.date < :currentDate")
-	List<Entry> findOverdueEntries(@Param("currentDate") LocalDate currentDate);
+	/*
+	 * Busca por trecho (ILIKE) ou por semelhança de palavras (<%) no nome e na descrição,
+	 * atendida pelos índices GIN de trigramas e restrita aos lançamentos do usuário. Semelhança no nome pesa mais que na descrição;
+	 * empates saem pelos lançamentos mais recentes.
+	 */
+	@Query(value = """
+			 SELECT e.* FROM entries e
+			 WHERE e.user_id = :userId
+			 AND (e.name ILIKE :pattern OR :term <% e.name
+			 OR e.description ILIKE :pattern OR :term <% e.description)
+			 ORDER BY GREATEST(word_similarity(:term, e.name), 0.8 * word_similarity(:term, COALESCE(e.description, ''))) DESC,
+			          e.date DESC, e.id DESC
+			 """, nativeQuery = true)
+	Slice<Entry> search(@Param("userId") Long userId, @Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+	
+	// Consulta para entradas em atraso (índice parcial idx_entry_user_unpaid_date)
+	@Query("SELECT e FROM Entry e WHERE e.userId = :userId AND e.paid = false AND e.date < :currentDate ORDER BY e.date ASC, e.id ASC")
+	List<Entry> findOverdueEntries(@Param("userId") Long userId, @Param("currentDate") LocalDate currentDate);
 	
 	// Consulta para próximos vencimentos
 	@Query("""
 	 SELECT e FROM Entry e
-	 WHERE e.paid = false
+	 WHERE e.userId = :userId
+	 AND e.paid = false
 	 AND e.date BETWEEN :startDate AND :endDate
-	 ORDER BY e.date ASC
+	 ORDER BY e.date ASC, e.id ASC
 	 """)
 	List<Entry> findUpcomingEntries(
+	@Param("userId") Long userId,
 	@Param("startDate") LocalDate startDate,
 	@Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,176 @@
+package com.finansys.backend.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Tabela report_jobs: pedidos de relatório, seu estado e o resultado em JSON. As consultas
+ * por id recebem o usuário dono e ignoram os pedidos expirados, que são removidos pela
+ * limpeza periódica. Cada pedido em andamento guarda a instância que o executa e o último
+ * heartbeat dela.
+ */
+@Repository
+public class ReportJobRepository {
+
+	public static final String PENDING = "pending";
+
+	public static final String RUNNING = "running";
+
+	public static final String DONE = "done";
+
+	public static final String FAILED = "failed";
+
+	// Serializa, por usuário, a busca de resultado reaproveitável, a contagem de pedidos ativos e a criação
+	private static final String LOCK_USER_SQL = "SELECT pg_advisory_xact_lock(hashtext('report_jobs'), hashint8(?))";
+
+	private static final String INSERT_SQL = """
+			INSERT INTO report_jobs (id, user_id, report_type, from_date, to_date, data_version, status, created_at, "owner", heartbeat_at)
+			VALUES (?, ?, ?, ?, ?, ?, 'pending', ?, ?, ?)
+			RETURNING id, user_id, report_type, from_date, to_date, data_version, status, error, created_at, started_at, finished_at, expires_at
+			""";
+
+	// Pedido com os mesmos parâmetros e a mesma versão dos dados, concluído ou em andamento
+	private static final String FIND_REUSABLE_SQL = """
+			SELECT id, user_id, report_type, from_date, to_date, data_version, status, error, created_at, started_at, finished_at, expires_at
+			FROM report_jobs
+			WHERE user_id = ? AND report_type = ? AND from_date = ? AND to_date = ? AND data_version = ?
+			AND status <> 'failed' AND (expires_at IS NULL OR expires_at > ?)
+			ORDER BY created_at DESC
+			LIMIT 1
+			""";
+
+	private static final String COUNT_ACTIVE_SQL = "SELECT count(*) FROM report_jobs WHERE user_id = ? AND status IN ('pending', 'running')";
+
+	private static final String FIND_BY_ID_SQL = """
+			SELECT id, user_id, report_type, from_date, to_date, data_version, status, error, created_at, started_at, finished_at, expires_at
+			FROM report_jobs
+			WHERE id = ? AND user_id = ? AND (expires_at IS NULL OR expires_at > ?)
+			""";
+
+	private static final String FIND_RESULT_SQL = """
+			SELECT result::text FROM report_jobs
+			WHERE id = ? AND user_id = ? AND status = 'done' AND expires_at > ?
+			""";
+
+	private static final String MARK_RUNNING_SQL = "UPDATE report_jobs SET status = 'running', started_at = ? WHERE id = ? AND status = 'pending'";
+
+	/*
+	 * Conclui um pedido ainda em andamento; um pedido já marcado como falha por outra instância
+	 * não é sobrescrito. data_version nulo mantém a versão gravada no pedido.
+	 */
+	private static final String FINISH_SQL = """
+			UPDATE report_jobs
+			SET status = ?, result = ?::json, error = ?, data_version = COALESCE(?, data_version), finished_at = ?, expires_at = ?
+			WHERE id = ? AND status IN ('pending', 'running')
+			""";
+
+	private static final String HEARTBEAT_SQL = "UPDATE report_jobs SET heartbeat_at = ? WHERE \"owner\" = ? AND status IN ('pending', 'running')";
+
+	// Pedidos de instâncias que pararam: na fila ou em execução e sem heartbeat recente
+	private static final String FAIL_STALE_SQL = """
+			UPDATE report_jobs
+			SET status = 'failed', error = ?, finished_at = ?, expires_at = ?
+			WHERE status IN ('pending', 'running') AND heartbeat_at < ?
+			""";
+
+	private static final String DELETE_EXPIRED_SQL = "DELETE FROM report_jobs WHERE expires_at <= ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public record ReportJob(UUID id, Long userId, String reportType, LocalDate from, LocalDate to, String dataVersion, String status, String error,
+			LocalDateTime createdAt, LocalDateTime startedAt, LocalDateTime finishedAt, LocalDateTime expiresAt) {
+	}
+
+	// Deve ser chamado dentro de uma transação; o bloqueio é liberado no commit
+	public void lockUser(Long userId) {
+
+		jdbcTemplate.query(LOCK_USER_SQL, resultSet -> {
+		}, userId);
+	}
+
+	public ReportJob insert(Long userId, String reportType, LocalDate from, LocalDate to, String dataVersion, String owner) {
+
+		LocalDateTime now = LocalDateTime.now();
+
+		return jdbcTemplate.queryForObject(INSERT_SQL, this::toReportJob, UUID.randomUUID(), userId, reportType, from, to, dataVersion, now, owner, now);
+	}
+
+	public Optional<ReportJob> findReusable(Long userId, String reportType, LocalDate from, LocalDate to, String dataVersion) {
+
+		List<ReportJob> jobs = jdbcTemplate.query(FIND_REUSABLE_SQL, this::toReportJob, userId, reportType, from, to, dataVersion, LocalDateTime.now());
+
+		return jobs.stream().findFirst();
+	}
+
+	public long countActive(Long userId) {
+
+		return jdbcTemplate.queryForObject(COUNT_ACTIVE_SQL, Long.class, userId);
+	}
+
+	public Optional<ReportJob> findByIdAndUserId(UUID id, Long userId) {
+
+		List<ReportJob> jobs = jdbcTemplate.query(FIND_BY_ID_SQL, this::toReportJob, id, userId, LocalDateTime.now());
+
+		return jobs.stream().findFirst();
+	}
+
+	public Optional<String> findResult(UUID id, Long userId) {
+
+		List<String> results = jdbcTemplate.queryForList(FIND_RESULT_SQL, String.class, id, userId, LocalDateTime.now());
+
+		return results.stream().findFirst();
+	}
+
+	// Falso se o pedido já não estava pendente
+	public boolean markRunning(UUID id) {
+
+		return jdbcTemplate.update(MARK_RUNNING_SQL, LocalDateTime.now(), id) > 0;
+	}
+
+	public void finish(UUID id, String status, String result, String error, String dataVersion, LocalDateTime expiresAt) {
+
+		jdbcTemplate.update(FINISH_SQL, status, result, error, dataVersion, LocalDateTime.now(), expiresAt, id);
+	}
+
+	public int heartbeat(String owner) {
+
+		return jdbcTemplate.update(HEARTBEAT_SQL, LocalDateTime.now(), owner);
+	}
+
+	public int failStale(LocalDateTime heartbeatBefore, String error, LocalDateTime expiresAt) {
+
+		return jdbcTemplate.update(FAIL_STALE_SQL, error, LocalDateTime.now(), expiresAt, heartbeatBefore);
+	}
+
+	public int deleteExpired() {
+
+		return jdbcTemplate.update(DELETE_EXPIRED_SQL, LocalDateTime.now());
+	}
+
+	private ReportJob toReportJob(ResultSet resultSet, int rowNum) throws SQLException {
+
+		return new ReportJob(
+				resultSet.getObject("id", UUID.class),
+				resultSet.getLong("user_id"),
+				resultSet.getString("report_type"),
+				resultSet.getObject("from_date", LocalDate.class),
+				resultSet.getObject("to_date", LocalDate.class),
+				resultSet.getString("data_version"),
+				resultSet.getString("status"),
+				resultSet.getString("error"),
+				resultSet.getObject("created_at", LocalDateTime.class),
+				resultSet.getObject("started_at", LocalDateTime.class),
+				resultSet.getObject("finished_at", LocalDateTime.class),
+				resultSet.getObject("expires_at", LocalDateTime.class));
+	}
+}
@@ -0,0 +1,103 @@
+package com.finansys.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Tabela row_counters: quantidade de linhas por (usuário, tabela, tipo, pago). Lançamentos
+ * têm uma linha por combinação de type e paid; categorias têm uma única linha com type ''.
+ * Os contadores recebem variações na mesma transação das escritas.
+ */
+@Repository
+public class RowCounterRepository {
+
+	// Uma reconciliação por vez entre todas as instâncias
+	private static final String TRY_LOCK_RECONCILE_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('row_counters'), 0)";
+
+	private static final String APPLY_DELTAS_SQL = """
+			INSERT INTO row_counters (user_id, table_name, type, paid, row_count)
+			SELECT * FROM unnest(?::int8[], ?::varchar[], ?::varchar[], ?::bool[], ?::int8[])
+			ON CONFLICT (user_id, table_name, type, paid) DO UPDATE
+			SET row_count = row_counters.row_count + EXCLUDED.row_count
+			""";
+
+	private static final String SUM_BY_TABLE_SQL = "SELECT COALESCE(SUM(row_count), 0) FROM row_counters WHERE user_id = ? AND table_name = ?";
+
+	private static final String FIND_BY_TABLE_SQL = "SELECT user_id, table_name, type, paid, row_count FROM row_counters WHERE user_id = ? AND table_name = ? ORDER BY type, paid";
+
+	private static final String FIND_ALL_SQL = "SELECT user_id, table_name, type, paid, row_count FROM row_counters";
+
+	private static final String COUNT_ENTRIES_SQL = "SELECT user_id, 'entries' AS table_name, type, paid, COUNT(*) AS row_count FROM entries GROUP BY user_id, type, paid";
+
+	private static final String COUNT_CATEGORIES_SQL = "SELECT user_id, 'categories' AS table_name, '' AS type, false AS paid, COUNT(*) AS row_count FROM categories GROUP BY user_id";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public record Counter(Long userId, String tableName, String type, boolean paid, long rowCount) {
+	}
+
+	// Deve ser chamado dentro de uma transação; o bloqueio é liberado no commit
+	public boolean tryLockReconcile() {
+
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_RECONCILE_SQL, Boolean.class));
+	}
+
+	// As variações devem vir ordenadas pela chave, para que transações concorrentes bloqueiem as linhas na mesma ordem
+	public void applyDeltas(List<Counter> deltas) {
+
+		if (deltas.isEmpty()) {
+
+			return;
+		}
+
+		jdbcTemplate.update(connection -> {
+
+			PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS_SQL);
+			statement.setArray(1, connection.createArrayOf("int8", deltas.stream().map(Counter::userId).toArray()));
+			statement.setArray(2, connection.createArrayOf("varchar", deltas.stream().map(Counter::tableName).toArray()));
+			statement.setArray(3, connection.createArrayOf("varchar", deltas.stream().map(Counter::type).toArray()));
+			statement.setArray(4, connection.createArrayOf("bool", deltas.stream().map(Counter::paid).toArray()));
+			statement.setArray(5, connection.createArrayOf("int8", deltas.stream().map(Counter::rowCount).toArray()));
+
+			return statement;
+		});
+	}
+
+	public long sumByTable(Long userId, String tableName) {
+
+		return jdbcTemplate.queryForObject(SUM_BY_TABLE_SQL, Long.class, userId, tableName);
+	}
+
+	public List<Counter> findByTable(Long userId, String tableName) {
+
+		return jdbcTemplate.query(FIND_BY_TABLE_SQL, (resultSet, rowNum) -> mapRow(resultSet), userId, tableName);
+	}
+
+	public List<Counter> findAll() {
+
+		return jdbcTemplate.query(FIND_ALL_SQL, (resultSet, rowNum) -> mapRow(resultSet));
+	}
+
+	// Contagens reais, com varredura das tabelas; usadas apenas na reconciliação
+	public List<Counter> countEntries() {
+
+		return jdbcTemplate.query(COUNT_ENTRIES_SQL, (resultSet, rowNum) -> mapRow(resultSet));
+	}
+
+	public List<Counter> countCategories() {
+
+		return jdbcTemplate.query(COUNT_CATEGORIES_SQL, (resultSet, rowNum) -> mapRow(resultSet));
+	}
+
+	private Counter mapRow(ResultSet resultSet) throws SQLException {
+
+		return new Counter(resultSet.getLong("user_id"), resultSet.getString("table_name"), resultSet.getString("type"), resultSet.getBoolean("paid"), resultSet.getLong("row_count"));
+	}
+}
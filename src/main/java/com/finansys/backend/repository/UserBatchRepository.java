@@ -0,0 +1,60 @@
+package com.finansys.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+ * Escritas em lote na tabela users via JDBC, no mesmo formato de EntryBatchRepository:
+ * os valores de cada usuário chegam como arrays e são desaninhados em uma tabela virtual.
+ */
+@Repository
+public class UserBatchRepository {
+
+	private static final String UPDATE_LAST_LOGIN_SQL = """
+			UPDATE users u
+			SET last_login = v.last_login
+			FROM unnest(?::int8[], ?::timestamp[]) AS v(id, last_login)
+			WHERE u.id = v.id
+			""";
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	// Um único comando para todos os usuários, cada um com o seu horário
+	public int updateLastLogins(Map<Long, LocalDateTime> lastLogins) {
+		
+		if (lastLogins.isEmpty()) {
+			
+			return 0;
+		}
+		
+		int size = lastLogins.size();
+		
+		Long[] ids = new Long[size];
+		Timestamp[] timestamps = new Timestamp[size];
+		
+		int i = 0;
+		
+		for (Map.Entry<Long, LocalDateTime> lastLogin : lastLogins.entrySet()) {
+			
+			ids[i] = lastLogin.getKey();
+			timestamps[i] = Timestamp.valueOf(lastLogin.getValue());
+			i++;
+		}
+		
+		return jdbcTemplate.update(connection -> {
+			
+			PreparedStatement statement = connection.prepareStatement(UPDATE_LAST_LOGIN_SQL);
+			statement.setArray(1, connection.createArrayOf("int8", ids));
+			statement.setArray(2, connection.createArrayOf("timestamp", timestamps));
+			
+			return statement;
+		});
+	}
+}
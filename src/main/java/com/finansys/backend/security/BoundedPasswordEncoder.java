@@ -0,0 +1,117 @@
+package com.finansys.backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.finansys.backend.config.PasswordHashingProperties;
+import com.finansys.backend.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/*
+ * Executa o BCrypt em um pool próprio e limitado, para que uma rajada de logins não
+ * ocupe todas as threads do Tomcat. Com o pool e a fila cheios a requisição é recusada
+ * imediatamente (503) em vez de esperar.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	
+	private final ThreadPoolExecutor executor;
+	
+	private final long timeoutMs;
+	
+	public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+		
+		this.delegate = delegate;
+		this.timeoutMs = properties.getTimeout().toMillis();
+		
+		AtomicInteger threadCount = new AtomicInteger();
+		
+		this.executor = new ThreadPoolExecutor(
+				properties.getThreads(),
+				properties.getThreads(),
+				0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				runnable -> {
+					
+					Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		
+		ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+	}
+	
+	@Override
+	public String encode(CharSequence rawPassword) {
+		
+		return execute(() -> delegate.encode(rawPassword));
+	}
+	
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		
+		return execute(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+	
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	public void shutdown() {
+		
+		executor.shutdown();
+	}
+	
+	private <T> T execute(Callable<T> task) {
+		
+		Future<T> future;
+		
+		try {
+			
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			
+			throw new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.");
+		}
+		
+		try {
+			
+			return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			
+			future.cancel(true);
+			
+			throw new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.");
+		} catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			
+			throw new ServiceUnavailableException("Verificação de senha interrompida");
+		} catch (ExecutionException e) {
+			
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				
+				throw runtimeException;
+			}
+			
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.finansys.backend.security;
+
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.finansys.backend.entity.User;
+
+/*
+ * Id do usuário autenticado na requisição atual, lido do principal montado a partir
+ * do token (sem consulta ao banco). Os serviços usam esse id para filtrar e preencher
+ * o dono de lançamentos e categorias.
+ */
+@Component
+public class CurrentUser {
+
+	public Long getId() {
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		if (authentication != null && authentication.getPrincipal() instanceof User principal && principal.getId() != null) {
+
+			return principal.getId();
+		}
+
+		throw new AuthenticationCredentialsNotFoundException("Usuário não autenticado");
+	}
+}
@@ -1,6 +1,7 @@
 package com.finansys.backend.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +10,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -17,6 +17,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.finansys.backend.service.JwtService;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -32,7 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserDetailServiceImpl userDetailsService;
     
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -41,15 +43,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         	
             String jwt = getJwtFromRequestCookie(request);
             
-            if (StringUtils.hasText(jwt) && jwtService.isTokenValid(jwt)) {
+            // Uma única verificação do token por requisição (e uma por token, com o cache de claims)
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtService.parseToken(jwt) : Optional.empty();
+            
+            if (claims.isPresent()) {
             	
-                String username = jwtService.extractUsername(jwt);
+                String username = claims.get().getSubject();
                 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 	
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    // Usuário montado a partir dos claims, sem consulta ao banco
+                    UserDetails userDetails = userDetailsService.loadUserFromClaims(claims.get());
                     
-                    if (jwtService.validateToken(jwt, userDetails)) {
+                    if (username.equals(userDetails.getUsername()) && userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
                     	
                         UsernamePasswordAuthenticationToken authToken = 
                             new UsernamePasswordAuthenticationToken(
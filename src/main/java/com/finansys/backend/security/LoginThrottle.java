@@ -0,0 +1,100 @@
+package com.finansys.backend.security;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.finansys.backend.config.LoginThrottleProperties;
+import com.finansys.backend.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Contadores de falhas de login por email e por IP. Ao atingir o limite, novas
+ * tentativas são recusadas (429) antes de qualquer verificação de senha, até a
+ * janela expirar. Os contadores ficam em caches limitados, então um ataque com muitos
+ * emails ou IPs distintos não cresce a memória sem limite.
+ */
+@Component
+public class LoginThrottle {
+
+	@Autowired
+	private LoginThrottleProperties properties;
+	
+	private Cache<String, AtomicInteger> failuresByEmail;
+	
+	private Cache<String, AtomicInteger> failuresByIp;
+	
+	@PostConstruct
+	void init() {
+		
+		failuresByEmail = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxTrackedKeys())
+				.expireAfterWrite(properties.getWindow())
+				.build();
+		
+		failuresByIp = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxTrackedKeys())
+				.expireAfterWrite(properties.getWindow())
+				.build();
+	}
+	
+	public void checkAllowed(String email, String clientIp) {
+		
+		if (count(failuresByEmail, normalize(email)) >= properties.getMaxFailuresPerEmail()
+				|| count(failuresByIp, clientIp) >= properties.getMaxFailuresPerIp()) {
+			
+			throw new TooManyRequestsException("Muitas tentativas de login. Tente novamente mais tarde.", properties.getWindow().toSeconds());
+		}
+	}
+	
+	// Cada falha renova a janela do contador (expireAfterWrite)
+	public void recordFailure(String email, String clientIp) {
+		
+		increment(failuresByEmail, normalize(email));
+		increment(failuresByIp, clientIp);
+	}
+	
+	// Um login correto zera o contador do email; o do IP segue até expirar
+	public void recordSuccess(String email) {
+		
+		failuresByEmail.invalidate(normalize(email));
+	}
+	
+	private int count(Cache<String, AtomicInteger> failures, String key) {
+		
+		if (key == null) {
+			
+			return 0;
+		}
+		
+		AtomicInteger counter = failures.getIfPresent(key);
+		
+		return counter != null ? counter.get() : 0;
+	}
+	
+	private void increment(Cache<String, AtomicInteger> failures, String key) {
+		
+		if (key == null) {
+			
+			return;
+		}
+		
+		failures.asMap().compute(key, (k, counter) -> {
+			
+			AtomicInteger updated = counter != null ? counter : new AtomicInteger();
+			updated.incrementAndGet();
+			
+			return updated;
+		});
+	}
+	
+	private String normalize(String email) {
+		
+		return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+	}
+}
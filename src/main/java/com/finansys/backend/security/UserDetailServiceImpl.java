@@ -1,5 +1,7 @@
 package com.finansys.backend.security;
 
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -7,15 +9,22 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finansys.backend.cache.UserStatusCache;
+import com.finansys.backend.cache.UserStatusCache.UserStatus;
 import com.finansys.backend.entity.User;
 import com.finansys.backend.repository.UserRepository;
 
+import io.jsonwebtoken.Claims;
+
 @Service
 public class UserDetailServiceImpl implements UserDetailsService {
 
 	@Autowired
 	private UserRepository userRepository;
 	
+	@Autowired
+	private UserStatusCache userStatusCache;
+	
 	@Override
 	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -27,6 +36,44 @@ public class UserDetailServiceImpl implements UserDetailsService {
         return user;
 	}
 
+	/*
+	 * Monta o usuário autenticado a partir dos claims do token (userId, email, nome e
+	 * role), sem consultar a tabela users; apenas o status da conta vem do cache.
+	 * Tokens emitidos antes dos claims de nome e role caem na consulta por email.
+	 */
+	public UserDetails loadUserFromClaims(Claims claims) {
+		
+		Object userId = claims.get("userId");
+		String name = claims.get("name", String.class);
+		String role = claims.get("role", String.class);
+		
+		if (userId == null || name == null || role == null) {
+			
+			return loadUserByUsername(claims.getSubject());
+		}
+		
+		Long id = Long.valueOf(userId.toString());
+		
+		Optional<UserStatus> status = userStatusCache.findById(id);
+		
+		if (status.isEmpty()) {
+			
+			throw new UsernameNotFoundException("Usuário não encontrado com ID: " + id);
+		}
+		
+		User user = new User();
+		user.setId(id);
+		user.setName(name);
+		user.setEmail(claims.getSubject());
+		user.setRole(User.Role.valueOf(role));
+		user.setEnabled(status.get().enabled());
+		user.setAccountNonLocked(status.get().accountNonLocked());
+		user.setAccountNonExpired(status.get().accountNonExpired());
+		user.setCredentialsNonExpired(status.get().credentialsNonExpired());
+		
+		return user;
+	}
+	
 	@Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) {
 		
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import com.finansys.backend.dto.response.JwtResponseDTO;
 import com.finansys.backend.dto.response.MessageResponseDTO;
 import com.finansys.backend.entity.User;
 import com.finansys.backend.repository.UserRepository;
+import com.finansys.backend.security.LoginThrottle;
 
 
 @Service
@@ -35,15 +37,36 @@ public class AuthService {
 	@Autowired
 	private JwtService jwtService;
 	
-	public JwtResponseDTO authenticateUser(LoginRequestDTO loginRequestDTO) {
+	@Autowired
+	private LastLoginWriter lastLoginWriter;
+	
+	@Autowired
+	private LoginThrottle loginThrottle;
+	
+	public JwtResponseDTO authenticateUser(LoginRequestDTO loginRequestDTO, String clientIp) {
 		
-        Authentication authentication = authenticationManager.authenticate(
-        		
-            new UsernamePasswordAuthenticationToken(
-                loginRequestDTO.email(),
-                loginRequestDTO.password()
-            )
-        );
+		// Recusa antes de executar o BCrypt quando o email ou o IP acumulou falhas
+		loginThrottle.checkAllowed(loginRequestDTO.email(), clientIp);
+		
+        Authentication authentication;
+        
+        try {
+        	
+            authentication = authenticationManager.authenticate(
+            		
+                new UsernamePasswordAuthenticationToken(
+                    loginRequestDTO.email(),
+                    loginRequestDTO.password()
+                )
+            );
+        } catch (AuthenticationException e) {
+        	
+            loginThrottle.recordFailure(loginRequestDTO.email(), clientIp);
+            
+            throw e;
+        }
+        
+        loginThrottle.recordSuccess(loginRequestDTO.email());
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
@@ -51,9 +74,8 @@ public class AuthService {
         
         String jwt = jwtService.generateTokenWithUserInfo(user, user.getId(), user.getEmail());
         
-        user.updateLastLogin();
-        
-        userRepository.save(user);
+        // Gravado em lote pelo LastLoginWriter, fora da transação do login
+        lastLoginWriter.record(user.getId(), LocalDateTime.now());
         
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(jwtService.getExpirationTime() / 1000);
         
@@ -91,9 +113,10 @@ public class AuthService {
 		
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
-        if (authentication != null && authentication.getPrincipal() instanceof User) {
+        // O principal é montado a partir do token; os dados completos vêm do banco
+        if (authentication != null && authentication.getPrincipal() instanceof User principal) {
         	
-            return (User) authentication.getPrincipal();
+            return userRepository.findById(principal.getId()).orElseThrow(() -> new RuntimeException("Usuário não autenticado"));
         }
         
         throw new RuntimeException("Usuário não autenticado");
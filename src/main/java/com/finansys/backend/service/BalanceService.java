@@ -0,0 +1,194 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finansys.backend.dto.response.BalancePointDTO;
+import com.finansys.backend.dto.response.BalanceSeriesResponseDTO;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.repository.BalanceCheckpointRepository;
+import com.finansys.backend.repository.BalanceCheckpointRepository.Balance;
+import com.finansys.backend.repository.BalanceCheckpointRepository.Checkpoint;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Série diária do saldo acumulado do usuário: balance considera só lançamentos pagos e
+ * projectedBalance inclui os não pagos (vencidos e futuros). O saldo de abertura parte
+ * do checkpoint do último mês fechado antes do período, então o custo depende do
+ * tamanho do período e não do histórico. Os checkpoints que faltam são criados antes da
+ * leitura; escritas em lançamentos removem os checkpoints do mês alterado em diante.
+ */
+@Service
+public class BalanceService {
+
+	// Pouco mais de três anos de pontos diários
+	private static final long MAX_DAYS = 1100;
+
+	@Autowired
+	private BalanceCheckpointRepository balanceCheckpointRepository;
+
+	@Autowired
+	private EntryRepository entryRepository;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate snapshotTemplate;
+
+	private TransactionTemplate writeTemplate;
+
+	@PostConstruct
+	void init() {
+
+		// Checkpoint e lançamentos lidos no mesmo snapshot
+		snapshotTemplate = new TransactionTemplate(transactionManager);
+		snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		snapshotTemplate.setReadOnly(true);
+
+		writeTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public BalanceSeriesResponseDTO getSeries(LocalDate from, LocalDate to) {
+
+		if (from.isAfter(to)) {
+
+			throw new BadRequestException("Data inicial deve ser anterior ou igual à data final");
+		}
+
+		if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+
+			throw new BadRequestException("O período deve ter no máximo " + MAX_DAYS + " dias");
+		}
+
+		Long userId = currentUser.getId();
+
+		LocalDate lastClosedMonth = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+		LocalDate previousMonth = from.withDayOfMonth(1).minusMonths(1);
+
+		ensureCheckpoints(userId, previousMonth.isBefore(lastClosedMonth) ? previousMonth : lastClosedMonth);
+
+		return snapshotTemplate.execute(status -> {
+
+			Balance opening = balanceCheckpointRepository.findBalanceBefore(userId, from);
+
+			Map<LocalDate, Balance> changes = new HashMap<>();
+
+			for (Object[] row : entryRepository.getDailyBalanceChanges(userId, from, to)) {
+
+				changes.put(toLocalDate(row[0]), new Balance((BigDecimal) row[1], (BigDecimal) row[2]));
+			}
+
+			List<BalancePointDTO> points = new ArrayList<>();
+
+			BigDecimal balance = opening.paid();
+			BigDecimal projectedBalance = opening.projected();
+
+			for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+
+				Balance change = changes.get(date);
+
+				if (change != null) {
+
+					balance = balance.add(change.paid());
+					projectedBalance = projectedBalance.add(change.projected());
+				}
+
+				points.add(new BalancePointDTO(date, balance, projectedBalance));
+			}
+
+			return new BalanceSeriesResponseDTO(from, to, opening.paid(), opening.projected(), points);
+		});
+	}
+
+	/*
+	 * Remove os checkpoints do usuário a partir do mês informado. Chamado pelo
+	 * EntryChangeRecorder na transação da escrita, antes de alterar os totais mensais;
+	 * o bloqueio por usuário impede que uma criação concorrente grave saldos sem a escrita.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void invalidateCheckpoints(Long userId, LocalDate month) {
+
+		// Só existem checkpoints de meses fechados; o mês atual entra para cobrir a virada do mês
+		if (month.isAfter(LocalDate.now().withDayOfMonth(1))) {
+
+			return;
+		}
+
+		balanceCheckpointRepository.lockUser(userId);
+		balanceCheckpointRepository.deleteFromMonth(userId, month);
+	}
+
+	// Cria os checkpoints que faltam até o mês informado, a partir do último existente
+	private void ensureCheckpoints(Long userId, LocalDate month) {
+
+		Optional<Checkpoint> latest = balanceCheckpointRepository.findLatest(userId);
+
+		if (latest.isPresent() && !latest.get().month().isBefore(month)) {
+
+			return;
+		}
+
+		if (latest.isEmpty() && balanceCheckpointRepository.findFirstMonth(userId).filter(first -> !first.isAfter(month)).isEmpty()) {
+
+			return;
+		}
+
+		writeTemplate.executeWithoutResult(status -> {
+
+			balanceCheckpointRepository.lockUser(userId);
+
+			Optional<Checkpoint> current = balanceCheckpointRepository.findLatest(userId);
+
+			LocalDate start;
+			Balance previous;
+
+			if (current.isPresent()) {
+
+				start = current.get().month().plusMonths(1);
+				previous = new Balance(current.get().paidBalance(), current.get().projectedBalance());
+			} else {
+
+				Optional<LocalDate> firstMonth = balanceCheckpointRepository.findFirstMonth(userId);
+
+				if (firstMonth.isEmpty()) {
+
+					return;
+				}
+
+				start = firstMonth.get();
+				previous = new Balance(BigDecimal.ZERO, BigDecimal.ZERO);
+			}
+
+			if (!start.isAfter(month)) {
+
+				balanceCheckpointRepository.fill(userId, start, month, previous);
+			}
+		});
+	}
+
+	private LocalDate toLocalDate(Object value) {
+
+		return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+	}
+}
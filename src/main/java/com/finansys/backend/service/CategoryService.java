@@ -1,20 +1,29 @@
 package com.finansys.backend.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finansys.backend.cache.CategoryCache;
 import com.finansys.backend.dto.request.CategoryRequestDTO;
 import com.finansys.backend.dto.response.CategoryResponseDTO;
 import com.finansys.backend.entity.Category;
 import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository;
+import com.finansys.backend.repository.EntryRecurrenceRepository;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -25,108 +34,173 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository categoryRepository;
 	
+	@Autowired
+	private CategoryCache categoryCache;
+	
+	@Autowired
+	private DataVersionService dataVersionService;
+	
+	@Autowired
+	private EntryRepository entryRepository;
+	
+	@Autowired
+	private EntryMonthlyTotalRepository entryMonthlyTotalRepository;
+	
+	@Autowired
+	private EntryRecurrenceRepository entryRecurrenceRepository;
+	
+	@Autowired
+	private RowCounterService rowCounterService;
+	
+	@Autowired
+	private CurrentUser currentUser;
+	
 	public CategoryResponseDTO createCategory(CategoryRequestDTO categoryRequestDTO) {
 		
-		if(categoryRepository.existsByName(categoryRequestDTO.name())) {
+		Long userId = currentUser.getId();
+		
+		if(categoryCache.findByName(userId, categoryRequestDTO.name()).isPresent()) {
 			
 			throw new RuntimeException("Já existe uma categoria com esse nome.");
 		}
 		
 		Category category = Category.builder().name(categoryRequestDTO.name())
 				.description(categoryRequestDTO.description())
+				.userId(userId)
 				.build();
 		
 		Category savedCategory = categoryRepository.save(category);
 		
-		return this.convertToResponse(savedCategory);
+		categoryCache.evict(userId, savedCategory.getId(), savedCategory.getName());
+		dataVersionService.markChanged(userId, DataVersionService.CATEGORIES);
+		rowCounterService.categoryAdded(userId);
+		
+		return convertToResponse(savedCategory, 0);
 	}
 	
 	@Transactional(readOnly = true)
 	public CategoryResponseDTO getCategoryById(Long id) {
 		
-		Category category = categoryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
+		Category category = categoryRepository.findByIdAndUserId(id, currentUser.getId()).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
 		
-		return convertToResponse(category);
+		return convertToResponse(List.of(category)).get(0);
 	}
 	
 	@Transactional(readOnly = true)
 	public List<CategoryResponseDTO> getAllCategories() {
 		
-		List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.ASC, "name"));
+		List<Category> categories = categoryRepository.findByUserId(currentUser.getId(), Sort.by(Sort.Direction.ASC, "name"));
 		
-		return categories.stream().map(this::convertToResponse).collect(Collectors.toList());
+		return convertToResponse(categories);
 	}
 	
 	@Transactional(readOnly = true)
 	public Page<CategoryResponseDTO> getAllCategoriesPaginated(int page, int size, String sortBy, String sortDir) {
 		
+		PageLimits.validate(page, size);
+		
 		Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 		
 		Pageable pageable = PageRequest.of(page, size, sort);
 		
-		Page<Category> categories = categoryRepository.findAll(pageable);
+		Page<Category> categories = categoryRepository.findByUserId(currentUser.getId(), pageable);
 		
-		return categories.map(this::convertToResponse);
+		return new PageImpl<>(convertToResponse(categories.getContent()), pageable, categories.getTotalElements());
 	}
 	
 	@Transactional(readOnly = true)
-	public List<CategoryResponseDTO> searchCategories(String searchTerm) {
+	public Slice<CategoryResponseDTO> searchCategories(String searchTerm, int page, int size) {
+		
+		PageLimits.validate(page, size);
+		
+		SearchTerm search = SearchTerm.of(searchTerm);
+		
+		// Sem contagem total: a página seguinte é detectada buscando um registro a mais
+		Pageable pageable = PageRequest.of(page, size);
 		
-		List<Category> categories = categoryRepository.findByNameOrDescriptionContaining(searchTerm);
+		Slice<Category> categories = categoryRepository.search(currentUser.getId(), search.term(), search.pattern(), pageable);
 		
-		return categories.stream().map(this::convertToResponse).collect(Collectors.toList());
+		return new SliceImpl<>(convertToResponse(categories.getContent()), pageable, categories.hasNext());
 	}
 	
 	public CategoryResponseDTO updateCategory(Long id, CategoryRequestDTO categoryRequest) {
 		
-		Category category = categoryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
+		Long userId = currentUser.getId();
 		
-		// Verificar se o novo nome já existe em outra categoria
-		if (categoryRepository.existsByNameAndIdNot(categoryRequest.name(),id)) {
+		Category category = categoryRepository.findByIdAndUserId(id, userId).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
+		
+		// Verificar se o novo nome já existe em outra categoria do usuário
+		if (categoryCache.findByName(userId, categoryRequest.name()).filter(existing -> !existing.id().equals(id)).isPresent()) {
 			
 			throw new RuntimeException("Já existe outra categoria com este nome");
 		}
 		
+		String previousName = category.getName();
+		
 		category.setName(categoryRequest.name());
 		category.setDescription(categoryRequest.description());
 		
 		Category updatedCategory = categoryRepository.save(category);
 		
-		return convertToResponse(updatedCategory);
+		categoryCache.evict(userId, id, previousName, updatedCategory.getName());
+		dataVersionService.markChanged(userId, DataVersionService.CATEGORIES);
+		
+		return convertToResponse(List.of(updatedCategory)).get(0);
 	}
 	
 	public void deleteCategory(Long id) {
 		
-		Category category = categoryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
+		Long userId = currentUser.getId();
+		
+		Category category = categoryRepository.findByIdAndUserId(id, userId).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + id));
 		
-		// Verificar se a categoria tem entradas associadas
-		if (!category.getEntries().isEmpty()) {
+		// Verificar se a categoria tem entradas associadas (consulta de existência pelo índice (user_id, category_id))
+		if (entryRepository.existsByUserIdAndCategoryId(userId, id)) {
 			
 			throw new RuntimeException("Não é possível excluir categoria que possui entradas associadas");
 		}
 		
+		if (entryRecurrenceRepository.existsByUserIdAndCategoryId(userId, id)) {
+			
+			throw new RuntimeException("Não é possível excluir categoria que possui lançamentos recorrentes associados");
+		}
+		
 		categoryRepository.delete(category);
+		
+		categoryCache.evict(userId, id, category.getName());
+		dataVersionService.markChanged(userId, DataVersionService.CATEGORIES);
+		rowCounterService.categoryRemoved(userId);
 	}
 	
 	@Transactional(readOnly = true)
 	public boolean existsById(Long id) {
 		
-		return categoryRepository.existsById(id);
+		return categoryRepository.existsByIdAndUserId(id, currentUser.getId());
 	}
 	
 	@Transactional(readOnly = true)
 	public long getTotalCount() {
 	
-		return categoryRepository.count();
+		return rowCounterService.countCategories(currentUser.getId());
+	}
+	
+	// Contagens em uma única consulta agrupada sobre entry_monthly_totals, sem carregar os lançamentos
+	private List<CategoryResponseDTO> convertToResponse(List<Category> categories) {
+		
+		Map<Long, Long> entryCounts = entryMonthlyTotalRepository.countByCategoryIds(currentUser.getId(), categories.stream().map(Category::getId).toList());
+		
+		return categories.stream()
+				.map(category -> convertToResponse(category, entryCounts.getOrDefault(category.getId(), 0L).intValue()))
+				.collect(Collectors.toList());
 	}
 	
-	private CategoryResponseDTO convertToResponse(Category category) {
+	private CategoryResponseDTO convertToResponse(Category category, int entryCount) {
 		
 		return new CategoryResponseDTO(category.getId(), 
 				category.getName(), 
 				category.getDescription(), 
 				category.getCreatedAt(), 
 				category.getUpdatedAt(), 
-				category.getEntries() != null ? category.getEntries().size() : 0);
+				entryCount);
 	}
 }
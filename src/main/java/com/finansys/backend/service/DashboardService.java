@@ -0,0 +1,84 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.dto.response.DashboardCategoryTotalDTO;
+import com.finansys.backend.dto.response.DashboardDailyTotalDTO;
+import com.finansys.backend.dto.response.DashboardResponseDTO;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+	// Valores da coluna grouping_set de EntryRepository.getDashboardSummary
+	private static final int BY_TYPE = 3;
+	
+	private static final int BY_CATEGORY = 5;
+	
+	private static final int BY_DATE = 6;
+	
+	@Autowired
+	private EntryRepository entryRepository;
+	
+	@Autowired
+	private CurrentUser currentUser;
+	
+	public DashboardResponseDTO getDashboard(LocalDate from, LocalDate to) {
+		
+		if (from.isAfter(to)) {
+			
+			throw new BadRequestException("Data inicial deve ser anterior ou igual à data final");
+		}
+		
+		BigDecimal totalRevenue = BigDecimal.ZERO;
+		BigDecimal totalExpense = BigDecimal.ZERO;
+		
+		List<DashboardCategoryTotalDTO> categories = new ArrayList<>();
+		List<DashboardDailyTotalDTO> daily = new ArrayList<>();
+		
+		for (Object[] row : entryRepository.getDashboardSummary(currentUser.getId(), from, to)) {
+			
+			int groupingSet = ((Number) row[0]).intValue();
+			BigDecimal revenue = (BigDecimal) row[5];
+			BigDecimal expense = (BigDecimal) row[6];
+			
+			switch (groupingSet) {
+			
+				case BY_TYPE -> {
+					
+					totalRevenue = totalRevenue.add(revenue);
+					totalExpense = totalExpense.add(expense);
+				}
+				case BY_CATEGORY -> categories.add(new DashboardCategoryTotalDTO(
+						((Number) row[2]).longValue(),
+						row[3] != null ? (String) row[3] : "Categoria não encontrada",
+						revenue,
+						expense));
+				case BY_DATE -> daily.add(new DashboardDailyTotalDTO(toLocalDate(row[4]), revenue, expense, revenue.subtract(expense)));
+				default -> throw new IllegalStateException("Conjunto de agrupamento inesperado: " + groupingSet);
+			}
+		}
+		
+		categories.sort(Comparator.comparing((DashboardCategoryTotalDTO category) -> category.revenue().add(category.expense())).reversed());
+		daily.sort(Comparator.comparing(DashboardDailyTotalDTO::date));
+		
+		return new DashboardResponseDTO(from, to, totalRevenue, totalExpense, totalRevenue.subtract(totalExpense), categories, daily);
+	}
+	
+	private LocalDate toLocalDate(Object value) {
+		
+		return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+	}
+}
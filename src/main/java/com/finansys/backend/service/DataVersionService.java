@@ -0,0 +1,120 @@
+package com.finansys.backend.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import com.finansys.backend.repository.DataVersionRepository;
+import com.finansys.backend.repository.DataVersionRepository.Key;
+import com.finansys.backend.security.CurrentUser;
+
+/*
+ * Versões de lançamentos e categorias de cada usuário para GET condicional. As escritas marcam o
+ * conjunto alterado e o contador é incrementado uma vez, logo antes do commit, na
+ * mesma transação: a linha da versão fica bloqueada só até o commit e a versão nunca
+ * avança sem os dados (nem fica para trás deles).
+ */
+@Service
+public class DataVersionService {
+
+	public static final String ENTRIES = "entries";
+
+	public static final String CATEGORIES = "categories";
+
+	private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::userId).thenComparing(Key::name);
+
+	@Autowired
+	private DataVersionRepository dataVersionRepository;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	public void markChanged(Long userId, String name) {
+
+		Key key = new Key(userId, name);
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+			dataVersionRepository.increment(List.of(key));
+
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<Key> changed = (Set<Key>) TransactionSynchronizationManager.getResource(this);
+
+		if (changed == null) {
+
+			// Ordenado para que transações concorrentes bloqueiem as linhas na mesma ordem
+			Set<Key> pending = new TreeSet<>(KEY_ORDER);
+
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void beforeCommit(boolean readOnly) {
+
+					dataVersionRepository.increment(List.copyOf(pending));
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+
+					TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+				}
+			});
+
+			changed = pending;
+		}
+
+		changed.add(key);
+	}
+
+	// Versões de lançamentos e categorias do usuário em um único valor, ex.: "e12-c3"
+	public String getVersionTag(Long userId) {
+
+		Map<String, Long> versions = dataVersionRepository.findByUserId(userId);
+
+		return "e" + versions.getOrDefault(ENTRIES, 0L) + "-c" + versions.getOrDefault(CATEGORIES, 0L);
+	}
+
+	/*
+	 * Responde 304 quando o If-None-Match da requisição corresponde às versões atuais,
+	 * sem chamar o loader. Versões e listagem são lidas na mesma transação (e na mesma
+	 * conexão, inclusive em réplica), então a ETag nunca é mais nova que os dados.
+	 * Listagens de lançamentos trazem o nome da categoria e as de categorias a contagem
+	 * de lançamentos, por isso a ETag combina as duas versões. O id do usuário entra na
+	 * ETag porque as versões de usuários diferentes podem coincidir.
+	 */
+	@Transactional(readOnly = true)
+	public <T> ResponseEntity<T> getIfModified(WebRequest webRequest, Supplier<T> loader) {
+
+		Long userId = currentUser.getId();
+
+		String eTag = "\"u" + userId + "-" + getVersionTag(userId) + "\"";
+
+		if (webRequest.checkNotModified(eTag)) {
+
+			// Status 304 e cabeçalhos já definidos pelo checkNotModified
+			return null;
+		}
+
+		// no-cache: o navegador guarda a resposta, mas revalida a cada requisição com If-None-Match
+		return ResponseEntity.ok()
+				.eTag(eTag)
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.body(loader.get());
+	}
+}
@@ -0,0 +1,165 @@
+package com.finansys.backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.finansys.backend.config.DueEntriesProperties;
+import com.finansys.backend.config.PrimaryReads;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.repository.EntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Listas de lançamentos em atraso e a vencer de cada usuário, mantidas em memória e
+ * válidas até o fim do dia. Qualquer escrita que envolva um lançamento não pago descarta
+ * as listas do dono nesta instância (via EntryChangeRecorder), e a próxima leitura as
+ * recalcula usando o índice parcial idx_entry_user_unpaid_date. Escritas feitas em outras
+ * instâncias são percebidas pela versão dos dados do usuário (DataVersionService), guardada
+ * com as listas e conferida a cada leitura. O job agendado descarta todas na virada do dia.
+ */
+@Service
+public class DueEntriesService {
+
+	// Gerações distribuídas por usuário em faixas fixas, para limitar a memória sem um contador por usuário
+	private static final int GENERATION_STRIPES = 64;
+	
+	@Autowired
+	private EntryRepository entryRepository;
+	
+	@Autowired
+	private DueEntriesProperties properties;
+	
+	@Autowired
+	private PrimaryReads primaryReads;
+	
+	@Autowired
+	private DataVersionService dataVersionService;
+	
+	private Cache<Long, DueLists> dueLists;
+	
+	// Incrementada a cada invalidação da faixa do usuário; um cálculo iniciado antes dela não é publicado
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+	
+	// Guarda cópias imutáveis: entidades compartilhadas entre requisições poderiam ser alteradas ou carregadas fora de sessão
+	private record DueLists(LocalDate referenceDate, String versionTag, List<DueEntry> overdue, List<DueEntry> upcoming) {
+	}
+	
+	@PostConstruct
+	void init() {
+		
+		dueLists = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxUsers())
+				.build();
+	}
+	
+	public List<DueEntry> getOverdueEntries(Long userId) {
+		
+		return current(userId).overdue();
+	}
+	
+	public List<DueEntry> getUpcomingEntries(Long userId, int days) {
+		
+		LocalDate today = LocalDate.now();
+		
+		// Períodos além do horizonte pré-calculado vão direto ao banco
+		if (days > properties.getHorizonDays()) {
+			
+			return toDueEntries(entryRepository.findUpcomingEntries(userId, today, today.plusDays(days)));
+		}
+		
+		LocalDate limit = today.plusDays(days);
+		
+		return current(userId).upcoming().stream().filter(entry -> !entry.date().isAfter(limit)).toList();
+	}
+	
+	// Listas do dia anterior são descartadas de uma vez; cada usuário recalcula as suas na próxima leitura
+	@Scheduled(cron = "${due-entries.refresh-cron:0 0 0 * * *}")
+	public void refresh() {
+		
+		dueLists.invalidateAll();
+	}
+	
+	// Descarta as listas do usuário agora e de novo ao fim da transação da escrita
+	public void invalidate(Long userId) {
+		
+		invalidateNow(userId);
+		
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCompletion(int status) {
+					
+					invalidateNow(userId);
+				}
+			});
+		}
+	}
+	
+	private void invalidateNow(Long userId) {
+		
+		generations.incrementAndGet(stripe(userId));
+		dueLists.invalidate(userId);
+	}
+	
+	/*
+	 * Versão e listas lidas do principal e na mesma transação: uma réplica atrasada
+	 * devolveria uma versão antiga e forçaria recálculos, e a versão lida antes das listas
+	 * nunca é mais nova que elas.
+	 */
+	private DueLists current(Long userId) {
+		
+		long startGeneration = generations.get(stripe(userId));
+		
+		return primaryReads.read(() -> {
+			
+			String versionTag = dataVersionService.getVersionTag(userId);
+			
+			DueLists current = dueLists.getIfPresent(userId);
+			
+			if (current != null && current.referenceDate().equals(LocalDate.now()) && current.versionTag().equals(versionTag)) {
+				
+				return current;
+			}
+			
+			return compute(userId, versionTag, startGeneration);
+		});
+	}
+	
+	private DueLists compute(Long userId, String versionTag, long startGeneration) {
+		
+		LocalDate today = LocalDate.now();
+		
+		DueLists computed = new DueLists(today, versionTag,
+				toDueEntries(entryRepository.findOverdueEntries(userId, today)),
+				toDueEntries(entryRepository.findUpcomingEntries(userId, today, today.plusDays(properties.getHorizonDays()))));
+		
+		if (generations.get(stripe(userId)) == startGeneration) {
+			
+			dueLists.put(userId, computed);
+		}
+		
+		return computed;
+	}
+	
+	private List<DueEntry> toDueEntries(List<Entry> entries) {
+		
+		return entries.stream().map(DueEntry::of).toList();
+	}
+	
+	private int stripe(Long userId) {
+		
+		return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+	}
+}
@@ -0,0 +1,18 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.finansys.backend.entity.Entry;
+
+// Cópia imutável de um lançamento guardada nas listas de vencimentos em memória, desligada da sessão JPA
+public record DueEntry(Long id, String name, String description, String type, BigDecimal amount, LocalDate date, Boolean paid, Long categoryId,
+		LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+	public static DueEntry of(Entry entry) {
+		
+		return new DueEntry(entry.getId(), entry.getName(), entry.getDescription(), entry.getType(), entry.getAmount(), entry.getDate(), entry.getPaid(),
+				entry.getCategoryId(), entry.getCreatedAt(), entry.getUpdatedAt());
+	}
+}
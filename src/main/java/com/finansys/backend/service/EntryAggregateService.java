@@ -0,0 +1,30 @@
+package com.finansys.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.repository.BalanceCheckpointRepository;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository;
+
+// Reconstrução das agregações a partir da tabela entries, para correções e após cargas feitas fora da aplicação
+@Service
+@Transactional
+public class EntryAggregateService {
+
+	@Autowired
+	private EntryMonthlyTotalRepository entryMonthlyTotalRepository;
+	
+	@Autowired
+	private BalanceCheckpointRepository balanceCheckpointRepository;
+	
+	// Os checkpoints de saldo são derivados dos totais mensais e voltam a ser criados sob demanda
+	public int rebuildMonthlyTotals() {
+		
+		int rows = entryMonthlyTotalRepository.rebuild();
+		
+		balanceCheckpointRepository.deleteAll();
+		
+		return rows;
+	}
+}
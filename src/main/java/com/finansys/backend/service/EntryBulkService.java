@@ -0,0 +1,320 @@
+package com.finansys.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.dto.request.EntryBulkRequestDTO;
+import com.finansys.backend.dto.request.EntryBulkUpdateDTO;
+import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.EntryBulkItemResultDTO;
+import com.finansys.backend.dto.response.EntryBulkResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.repository.EntryBatchRepository;
+import com.finansys.backend.repository.EntryBatchRepository.ChangedEntry;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Transactional
+public class EntryBulkService {
+
+	private static final String CREATE = "create";
+
+	private static final String UPDATE = "update";
+
+	private static final String DELETE = "delete";
+
+	@Autowired
+	private EntryRepository entryRepository;
+
+	@Autowired
+	private EntryBatchRepository entryBatchRepository;
+
+	@Autowired
+	private CategoryCache categoryCache;
+
+	@Autowired
+	private EntryChangeRecorder entryChangeRecorder;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	/*
+	 * Aplica criações, atualizações e exclusões em uma única transação. Categorias e
+	 * lançamentos referenciados são verificados com uma consulta cada, e as escritas são
+	 * feitas em lote (INSERT) ou em um único comando sobre o conjunto (UPDATE e DELETE).
+	 * Itens inválidos recebem um resultado de erro e não impedem os demais.
+	 */
+	public EntryBulkResponseDTO applyBulk(EntryBulkRequestDTO bulkRequest) {
+
+		Long userId = currentUser.getId();
+
+		List<EntryRequestDTO> creates = bulkRequest.create() != null ? bulkRequest.create() : List.of();
+		List<EntryBulkUpdateDTO> updates = bulkRequest.update() != null ? bulkRequest.update() : List.of();
+		List<Long> deletes = bulkRequest.delete() != null ? bulkRequest.delete() : List.of();
+
+		EntryBulkItemResultDTO[] createResults = new EntryBulkItemResultDTO[creates.size()];
+		EntryBulkItemResultDTO[] updateResults = new EntryBulkItemResultDTO[updates.size()];
+		EntryBulkItemResultDTO[] deleteResults = new EntryBulkItemResultDTO[deletes.size()];
+
+		// Validação individual dos itens
+		for (int i = 0; i < creates.size(); i++) {
+
+			String error = validate(creates.get(i));
+
+			if (error != null) {
+
+				createResults[i] = failure(CREATE, i, null, error);
+			}
+		}
+
+		Set<Long> updatedIds = new HashSet<>();
+
+		for (int i = 0; i < updates.size(); i++) {
+
+			EntryBulkUpdateDTO update = updates.get(i);
+
+			String error = update.id() == null ? "ID do lançamento é obrigatório" : validate(update.entry());
+
+			if (error == null && !updatedIds.add(update.id())) {
+
+				error = "Lançamento duplicado na requisição: " + update.id();
+			}
+
+			if (error != null) {
+
+				updateResults[i] = failure(UPDATE, i, update.id(), error);
+			}
+		}
+
+		// Uma consulta para todas as categorias e outra para todos os lançamentos referenciados
+		Set<Long> categoryIds = new HashSet<>();
+
+		for (int i = 0; i < creates.size(); i++) {
+
+			if (createResults[i] == null) {
+
+				categoryIds.add(creates.get(i).categoryId());
+			}
+		}
+
+		for (int i = 0; i < updates.size(); i++) {
+
+			if (updateResults[i] == null) {
+
+				categoryIds.add(updates.get(i).entry().categoryId());
+			}
+		}
+
+		Set<Long> existingCategoryIds = findExistingCategoryIds(userId, categoryIds);
+
+		Set<Long> entryIds = new LinkedHashSet<>(updatedIds);
+		deletes.stream().filter(id -> id != null).forEach(entryIds::add);
+
+		/*
+		 * Lançamentos de outros usuários ficam de fora. As linhas ficam bloqueadas até o fim da
+		 * transação, de modo que o estado lido é o que o UPDATE substitui; as agregações usam
+		 * apenas as linhas que o UPDATE e o DELETE devolvem.
+		 */
+		Map<Long, Entry> existingEntries = entryIds.isEmpty() ? Map.of() : entryRepository.findForUpdateByUserIdAndIdInOrderById(userId, entryIds).stream().collect(Collectors.toMap(Entry::getId, Function.identity()));
+
+		List<EntrySnapshot> removedSnapshots = new ArrayList<>();
+		List<EntrySnapshot> addedSnapshots = new ArrayList<>();
+
+		// Criações
+		List<Entry> entriesToCreate = new ArrayList<>();
+		List<Integer> createIndexes = new ArrayList<>();
+
+		for (int i = 0; i < creates.size(); i++) {
+
+			if (createResults[i] != null) {
+
+				continue;
+			}
+
+			EntryRequestDTO entryRequest = creates.get(i);
+
+			if (!existingCategoryIds.contains(entryRequest.categoryId())) {
+
+				createResults[i] = failure(CREATE, i, null, "Categoria não encontrada com ID: " + entryRequest.categoryId());
+
+				continue;
+			}
+
+			entriesToCreate.add(toEntry(userId, null, entryRequest));
+			createIndexes.add(i);
+		}
+
+		entryBatchRepository.insertAll(entriesToCreate, entriesToCreate.size());
+
+		for (int i = 0; i < entriesToCreate.size(); i++) {
+
+			createResults[createIndexes.get(i)] = success(CREATE, createIndexes.get(i), entriesToCreate.get(i).getId());
+			addedSnapshots.add(EntrySnapshot.of(entriesToCreate.get(i)));
+		}
+
+		// Atualizações
+		List<Entry> entriesToUpdate = new ArrayList<>();
+		Map<Long, Integer> updateIndexes = new HashMap<>();
+
+		for (int i = 0; i < updates.size(); i++) {
+
+			if (updateResults[i] != null) {
+
+				continue;
+			}
+
+			EntryBulkUpdateDTO update = updates.get(i);
+
+			Entry existing = existingEntries.get(update.id());
+
+			if (existing == null) {
+
+				updateResults[i] = failure(UPDATE, i, update.id(), "Lançamento não encontrado com ID: " + update.id());
+			} else if (!existingCategoryIds.contains(update.entry().categoryId())) {
+
+				updateResults[i] = failure(UPDATE, i, update.id(), "Categoria não encontrada com ID: " + update.entry().categoryId());
+			} else {
+
+				entriesToUpdate.add(toEntry(userId, update.id(), update.entry()));
+				updateIndexes.put(update.id(), i);
+			}
+		}
+
+		// Os valores gravados vêm do RETURNING (paid nulo mantém o status atual)
+		for (ChangedEntry updated : entryBatchRepository.updateAll(userId, entriesToUpdate)) {
+
+			int index = updateIndexes.remove(updated.id());
+
+			updateResults[index] = success(UPDATE, index, updated.id());
+
+			removedSnapshots.add(EntrySnapshot.of(existingEntries.get(updated.id())));
+			addedSnapshots.add(toSnapshot(userId, updated));
+		}
+
+		// Lançamentos que o UPDATE não alcançou
+		updateIndexes.forEach((id, index) -> updateResults[index] = failure(UPDATE, index, id, "Lançamento não encontrado com ID: " + id));
+
+		// Exclusões; ids repetidos na requisição compartilham o resultado do mesmo lançamento
+		Map<Long, List<Integer>> deleteIndexes = new LinkedHashMap<>();
+
+		for (int i = 0; i < deletes.size(); i++) {
+
+			Long id = deletes.get(i);
+
+			if (id == null) {
+
+				deleteResults[i] = failure(DELETE, i, null, "ID do lançamento é obrigatório");
+			} else if (updatedIds.contains(id)) {
+
+				// Atualizar e excluir o mesmo lançamento registraria a remoção do estado original duas vezes nas agregações
+				deleteResults[i] = failure(DELETE, i, id, "Lançamento também atualizado na requisição: " + id);
+			} else if (!existingEntries.containsKey(id)) {
+
+				deleteResults[i] = failure(DELETE, i, id, "Lançamento não encontrado com ID: " + id);
+			} else {
+
+				deleteIndexes.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+			}
+		}
+
+		for (ChangedEntry deleted : entryBatchRepository.deleteAllById(userId, deleteIndexes.keySet())) {
+
+			deleteIndexes.remove(deleted.id()).forEach(index -> deleteResults[index] = success(DELETE, index, deleted.id()));
+
+			removedSnapshots.add(toSnapshot(userId, deleted));
+		}
+
+		// Lançamentos que o DELETE não alcançou
+		deleteIndexes.forEach((id, indexes) -> indexes.forEach(index -> deleteResults[index] = failure(DELETE, index, id, "Lançamento não encontrado com ID: " + id)));
+
+		entryChangeRecorder.record(removedSnapshots, addedSnapshots);
+
+		List<EntryBulkItemResultDTO> results = new ArrayList<>();
+		results.addAll(List.of(createResults));
+		results.addAll(List.of(updateResults));
+		results.addAll(List.of(deleteResults));
+
+		int succeeded = (int) results.stream().filter(EntryBulkItemResultDTO::success).count();
+
+		return new EntryBulkResponseDTO(succeeded, results.size() - succeeded, results);
+	}
+
+	private String validate(EntryRequestDTO entryRequest) {
+
+		if (entryRequest == null) {
+
+			return "Dados do lançamento são obrigatórios";
+		}
+
+		Set<ConstraintViolation<EntryRequestDTO>> violations = validator.validate(entryRequest);
+
+		if (violations.isEmpty()) {
+
+			return null;
+		}
+
+		return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+	}
+
+	private Set<Long> findExistingCategoryIds(Long userId, Collection<Long> categoryIds) {
+
+		if (categoryIds.isEmpty()) {
+
+			return Set.of();
+		}
+
+		return categoryCache.findNames(userId, categoryIds).keySet();
+	}
+
+	private EntrySnapshot toSnapshot(Long userId, ChangedEntry changedEntry) {
+
+		return new EntrySnapshot(userId, changedEntry.date(), changedEntry.categoryId(), changedEntry.type(), changedEntry.paid(), changedEntry.amount());
+	}
+
+	private Entry toEntry(Long userId, Long id, EntryRequestDTO entryRequest) {
+
+		Entry entry = new Entry();
+		entry.setId(id);
+		entry.setUserId(userId);
+		entry.setName(entryRequest.name());
+		entry.setDescription(entryRequest.description());
+		entry.setType(entryRequest.type());
+		entry.setAmount(entryRequest.amount());
+		entry.setDate(entryRequest.date());
+		entry.setCategoryId(entryRequest.categoryId());
+		entry.setPaid(entryRequest.paid());
+
+		return entry;
+	}
+
+	private EntryBulkItemResultDTO success(String operation, int index, Long id) {
+
+		return new EntryBulkItemResultDTO(operation, index, id, true, null);
+	}
+
+	private EntryBulkItemResultDTO failure(String operation, int index, Long id, String message) {
+
+		return new EntryBulkItemResultDTO(operation, index, id, false, message);
+	}
+}
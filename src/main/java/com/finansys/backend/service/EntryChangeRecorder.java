@@ -0,0 +1,133 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.repository.EntryMonthlyTotalRepository;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository.Delta;
+
+/*
+ * Ponto único por onde passam as alterações de lançamentos para manter as agregações.
+ * Recebe o estado anterior (removed) e o novo estado (added) dos lançamentos alterados
+ * e deve ser chamado dentro da transação da escrita: uma criação só tem added, uma
+ * exclusão só tem removed e uma atualização tem os dois.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class EntryChangeRecorder {
+
+	private static final Comparator<MonthlyKey> KEY_ORDER = Comparator.comparing(MonthlyKey::userId)
+			.thenComparing(MonthlyKey::month)
+			.thenComparing(MonthlyKey::categoryId)
+			.thenComparing(MonthlyKey::type)
+			.thenComparing(MonthlyKey::paid);
+	
+	@Autowired
+	private EntryMonthlyTotalRepository entryMonthlyTotalRepository;
+	
+	@Autowired
+	private DueEntriesService dueEntriesService;
+	
+	@Autowired
+	private DataVersionService dataVersionService;
+	
+	@Autowired
+	private RowCounterService rowCounterService;
+	
+	@Autowired
+	private BalanceService balanceService;
+	
+	public void recordCreated(Collection<EntrySnapshot> added) {
+		
+		record(List.of(), added);
+	}
+	
+	public void recordDeleted(Collection<EntrySnapshot> removed) {
+		
+		record(removed, List.of());
+	}
+	
+	public void record(Collection<EntrySnapshot> removed, Collection<EntrySnapshot> added) {
+		
+		if (removed.isEmpty() && added.isEmpty()) {
+			
+			return;
+		}
+		
+		Set<Long> userIds = new TreeSet<>();
+		Set<Long> userIdsWithUnpaid = new TreeSet<>();
+		
+		// Mês mais antigo alterado de cada usuário, em ordem de usuário (ordem dos bloqueios)
+		Map<Long, LocalDate> firstMonths = new TreeMap<>();
+		
+		Map<MonthlyKey, Delta> deltas = new HashMap<>();
+		
+		for (EntrySnapshot snapshot : removed) {
+			
+			accumulate(deltas, snapshot, snapshot.amount().negate(), -1);
+			rowCounterService.entryRemoved(snapshot.userId(), snapshot.type(), snapshot.paid());
+			track(snapshot, userIds, userIdsWithUnpaid, firstMonths);
+		}
+		
+		for (EntrySnapshot snapshot : added) {
+			
+			accumulate(deltas, snapshot, snapshot.amount(), 1);
+			rowCounterService.entryAdded(snapshot.userId(), snapshot.type(), snapshot.paid());
+			track(snapshot, userIds, userIdsWithUnpaid, firstMonths);
+		}
+		
+		// Qualquer alteração muda a listagem (mesmo as que não mexem nos totais) e invalida a ETag do usuário
+		userIds.forEach(userId -> dataVersionService.markChanged(userId, DataVersionService.ENTRIES));
+		
+		// Antes dos totais mensais: os checkpoints de saldo são criados a partir deles
+		firstMonths.forEach(balanceService::invalidateCheckpoints);
+		
+		// Alterações que se anulam (ex.: mudança só no nome) não geram escrita
+		List<Delta> changed = deltas.entrySet().stream()
+				.filter(delta -> delta.getValue().entryCount() != 0 || delta.getValue().total().signum() != 0)
+				.sorted(Map.Entry.comparingByKey(KEY_ORDER))
+				.map(Map.Entry::getValue)
+				.toList();
+		
+		entryMonthlyTotalRepository.applyDeltas(changed);
+		
+		// As listas de vencimentos só contêm lançamentos não pagos
+		userIdsWithUnpaid.forEach(dueEntriesService::invalidate);
+	}
+	
+	private void track(EntrySnapshot snapshot, Set<Long> userIds, Set<Long> userIdsWithUnpaid, Map<Long, LocalDate> firstMonths) {
+		
+		userIds.add(snapshot.userId());
+		firstMonths.merge(snapshot.userId(), snapshot.date().withDayOfMonth(1), (current, month) -> month.isBefore(current) ? month : current);
+		
+		if (!snapshot.paid()) {
+			
+			userIdsWithUnpaid.add(snapshot.userId());
+		}
+	}
+	
+	private void accumulate(Map<MonthlyKey, Delta> deltas, EntrySnapshot snapshot, BigDecimal amount, long count) {
+		
+		MonthlyKey key = new MonthlyKey(snapshot.userId(), snapshot.date().withDayOfMonth(1), snapshot.categoryId(), snapshot.type(), snapshot.paid());
+		
+		deltas.merge(key, new Delta(key.userId(), key.month(), key.categoryId(), key.type(), key.paid(), amount, count),
+				(current, change) -> new Delta(key.userId(), key.month(), key.categoryId(), key.type(), key.paid(),
+						current.total().add(change.total()), current.entryCount() + change.entryCount()));
+	}
+	
+	private record MonthlyKey(Long userId, LocalDate month, Long categoryId, String type, boolean paid) {
+	}
+}
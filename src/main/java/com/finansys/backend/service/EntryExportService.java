@@ -0,0 +1,208 @@
+package com.finansys.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.finansys.backend.dto.response.EntryResponseDTO;
+import com.finansys.backend.exception.BadRequestException;
+
+@Service
+public class EntryExportService {
+
+	// Quantidade de linhas trazidas por ida ao banco pelo cursor do driver
+	private static final int FETCH_SIZE = 1000;
+
+	private static final String EXPORT_SQL = """
+			SELECT e.id, e.name, e.description, e.type, e.amount, e.date, e.paid, e.category_id,
+			       c.name AS category_name, e.created_at, e.updated_at
+			FROM entries e
+			LEFT JOIN categories c ON c.id = e.category_id
+			WHERE e.user_id = ?
+			ORDER BY e.date DESC, e.id DESC
+			""";
+
+	private static final String CSV_HEADER = "id;name;description;type;amount;date;paid;categoryId;categoryName;createdAt;updatedAt";
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	public enum Format {
+
+		NDJSON("application/x-ndjson", "ndjson"),
+		CSV("text/csv", "csv");
+
+		private final String contentType;
+
+		private final String extension;
+
+		Format(String contentType, String extension) {
+
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() {
+
+			return contentType;
+		}
+
+		public String getExtension() {
+
+			return extension;
+		}
+
+		public static Format of(String value) {
+
+			for (Format format : values()) {
+
+				if (format.extension.equalsIgnoreCase(value)) {
+
+					return format;
+				}
+			}
+
+			throw new BadRequestException("Formato de exportação inválido: " + value + ". Use ndjson ou csv");
+		}
+	}
+
+	/*
+	 * Escreve todos os lançamentos do usuário diretamente no stream de saída. A leitura usa um
+	 * cursor forward-only com fetch size (o driver do Postgres só usa cursor dentro de
+	 * transação), então cada linha é convertida e descartada sem acumular a tabela em memória.
+	 */
+	@Transactional(readOnly = true)
+	public void export(Long userId, Format format, OutputStream outputStream) throws IOException {
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+		ObjectWriter jsonWriter = objectMapper.writerFor(EntryResponseDTO.class);
+
+		if (format == Format.CSV) {
+
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+
+		try {
+
+			jdbcTemplate.query(connection -> {
+
+				PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				statement.setFetchSize(FETCH_SIZE);
+				statement.setLong(1, userId);
+
+				return statement;
+			}, resultSet -> {
+
+				EntryResponseDTO entry = mapRow(resultSet);
+
+				try {
+
+					if (format == Format.CSV) {
+
+						writeCsvLine(writer, entry);
+					} else {
+
+						writer.write(jsonWriter.writeValueAsString(entry));
+						writer.write('\n');
+					}
+				} catch (IOException e) {
+
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+
+			// Cliente encerrou a conexão durante o download
+			throw e.getCause();
+		}
+
+		writer.flush();
+	}
+
+	private EntryResponseDTO mapRow(ResultSet resultSet) throws SQLException {
+
+		return new EntryResponseDTO(
+			resultSet.getLong("id"),
+			resultSet.getString("name"),
+			resultSet.getString("description"),
+			resultSet.getString("type"),
+			resultSet.getBigDecimal("amount"),
+			resultSet.getDate("date").toLocalDate(),
+			resultSet.getBoolean("paid"),
+			resultSet.getLong("category_id"),
+			resultSet.getString("category_name") != null ? resultSet.getString("category_name") : "Categoria não encontrada",
+			toLocalDateTime(resultSet.getTimestamp("created_at")),
+			toLocalDateTime(resultSet.getTimestamp("updated_at"))
+		);
+	}
+
+	private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+
+		return timestamp != null ? timestamp.toLocalDateTime() : null;
+	}
+
+	private void writeCsvLine(Writer writer, EntryResponseDTO entry) throws IOException {
+
+		writer.write(String.valueOf(entry.id()));
+		writer.write(';');
+		writer.write(escapeCsv(entry.name()));
+		writer.write(';');
+		writer.write(escapeCsv(entry.description()));
+		writer.write(';');
+		writer.write(entry.type());
+		writer.write(';');
+		writer.write(entry.amount().toPlainString());
+		writer.write(';');
+		writer.write(DATE_FORMATTER.format(entry.date()));
+		writer.write(';');
+		writer.write(String.valueOf(entry.paid()));
+		writer.write(';');
+		writer.write(String.valueOf(entry.categoryId()));
+		writer.write(';');
+		writer.write(escapeCsv(entry.categoryName()));
+		writer.write(';');
+		writer.write(entry.createdAt() != null ? entry.createdAt().toString() : "");
+		writer.write(';');
+		writer.write(entry.updateddAt() != null ? entry.updateddAt().toString() : "");
+		writer.write('\n');
+	}
+
+	private String escapeCsv(String value) {
+
+		if (value == null) {
+
+			return "";
+		}
+
+		if (value.indexOf(';') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+
+		return value;
+	}
+}
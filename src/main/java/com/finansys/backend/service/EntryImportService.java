@@ -0,0 +1,255 @@
+package com.finansys.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.EntryImportErrorDTO;
+import com.finansys.backend.dto.response.EntryImportResultDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.importer.CsvStatementParser;
+import com.finansys.backend.importer.OfxStatementParser;
+import com.finansys.backend.importer.StatementParser;
+import com.finansys.backend.importer.StatementRow;
+import com.finansys.backend.repository.EntryBatchRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class EntryImportService {
+
+	// Linhas validadas e inseridas por lote
+	private static final int BATCH_SIZE = 5000;
+
+	// Limite de erros detalhados no relatório; as contagens continuam exatas
+	private static final int MAX_REPORTED_ERRORS = 1000;
+
+	@Autowired
+	private EntryBatchRepository entryBatchRepository;
+
+	@Autowired
+	private CategoryCache categoryCache;
+
+	@Autowired
+	private EntryChangeRecorder entryChangeRecorder;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	@Transactional
+	public EntryImportResultDTO importStatement(MultipartFile file, Long defaultCategoryId) {
+
+		if (file == null || file.isEmpty()) {
+
+			throw new BadRequestException("Arquivo de importação vazio");
+		}
+
+		StatementParser parser = parserFor(file);
+
+		ImportProgress progress = new ImportProgress(currentUser.getId());
+
+		try (InputStream inputStream = file.getInputStream()) {
+
+			parser.parse(inputStream, defaultCategoryId, row -> {
+
+				progress.pending.add(row);
+
+				if (progress.pending.size() >= BATCH_SIZE) {
+
+					flush(progress);
+				}
+			});
+		} catch (IOException e) {
+
+			throw new BadRequestException("Não foi possível ler o arquivo de importação: " + e.getMessage());
+		} catch (IllegalArgumentException e) {
+
+			throw new BadRequestException(e.getMessage());
+		}
+
+		flush(progress);
+
+		progress.errors.sort(Comparator.comparingInt(EntryImportErrorDTO::row));
+
+		return new EntryImportResultDTO(progress.totalRows, progress.importedRows, progress.rejectedRows, progress.errors, progress.errorsTruncated);
+	}
+
+	private StatementParser parserFor(MultipartFile file) {
+
+		String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+
+		if (filename.endsWith(".csv") || "text/csv".equals(file.getContentType())) {
+
+			return new CsvStatementParser();
+		}
+
+		if (filename.endsWith(".ofx")) {
+
+			return new OfxStatementParser();
+		}
+
+		throw new BadRequestException("Formato de arquivo não suportado. Envie um arquivo .csv ou .ofx");
+	}
+
+	// Valida o lote pendente com as mesmas regras de EntryRequestDTO e insere as linhas válidas
+	private void flush(ImportProgress progress) {
+
+		List<StatementRow> rows = progress.pending;
+
+		if (rows.isEmpty()) {
+
+			return;
+		}
+
+		progress.totalRows += rows.size();
+
+		List<StatementRow> validRows = new ArrayList<>(rows.size());
+
+		for (StatementRow row : rows) {
+
+			if (row.error() != null) {
+
+				progress.reject(row.row(), row.error());
+
+				continue;
+			}
+
+			Set<ConstraintViolation<EntryRequestDTO>> violations = validator.validate(row.entry());
+
+			if (!violations.isEmpty()) {
+
+				progress.reject(row.row(), violations.stream()
+						.map(ConstraintViolation::getMessage)
+						.sorted()
+						.collect(Collectors.joining("; ")));
+
+				continue;
+			}
+
+			validRows.add(row);
+		}
+
+		resolveCategories(validRows, progress);
+
+		List<Entry> entries = new ArrayList<>(validRows.size());
+
+		for (StatementRow row : validRows) {
+
+			Long categoryId = row.entry().categoryId();
+
+			if (!progress.knownCategoryIds.contains(categoryId)) {
+
+				progress.reject(row.row(), "Categoria não encontrada com ID: " + categoryId);
+
+				continue;
+			}
+
+			entries.add(toEntry(progress.userId, row.entry()));
+		}
+
+		entryBatchRepository.copyAll(entries);
+
+		entryChangeRecorder.recordCreated(entries.stream().map(EntrySnapshot::of).toList());
+
+		progress.importedRows += entries.size();
+		progress.pending = new ArrayList<>(BATCH_SIZE);
+	}
+
+	// Consulta apenas as categorias ainda não vistas em lotes anteriores
+	private void resolveCategories(List<StatementRow> rows, ImportProgress progress) {
+
+		Set<Long> unknownIds = new HashSet<>();
+
+		for (StatementRow row : rows) {
+
+			Long categoryId = row.entry().categoryId();
+
+			if (!progress.knownCategoryIds.contains(categoryId) && !progress.missingCategoryIds.contains(categoryId)) {
+
+				unknownIds.add(categoryId);
+			}
+		}
+
+		if (unknownIds.isEmpty()) {
+
+			return;
+		}
+
+		progress.knownCategoryIds.addAll(categoryCache.findNames(progress.userId, unknownIds).keySet());
+
+		unknownIds.removeAll(progress.knownCategoryIds);
+		progress.missingCategoryIds.addAll(unknownIds);
+	}
+
+	private Entry toEntry(Long userId, EntryRequestDTO entryRequest) {
+
+		Entry entry = new Entry();
+		entry.setUserId(userId);
+		entry.setName(entryRequest.name());
+		entry.setDescription(entryRequest.description());
+		entry.setType(entryRequest.type());
+		entry.setAmount(entryRequest.amount());
+		entry.setDate(entryRequest.date());
+		entry.setCategoryId(entryRequest.categoryId());
+		entry.setPaid(entryRequest.paid() != null ? entryRequest.paid() : false);
+
+		return entry;
+	}
+
+	private static class ImportProgress {
+
+		private final Long userId;
+
+		private List<StatementRow> pending = new ArrayList<>(BATCH_SIZE);
+
+		private final List<EntryImportErrorDTO> errors = new ArrayList<>();
+
+		private final Set<Long> knownCategoryIds = new HashSet<>();
+
+		private final Set<Long> missingCategoryIds = new HashSet<>();
+
+		private int totalRows;
+
+		private int importedRows;
+
+		private int rejectedRows;
+
+		private boolean errorsTruncated;
+
+		private ImportProgress(Long userId) {
+
+			this.userId = userId;
+		}
+
+		private void reject(int row, String message) {
+
+			rejectedRows++;
+
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+
+				errors.add(new EntryImportErrorDTO(row, message));
+			} else {
+
+				errorsTruncated = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.finansys.backend.service;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.config.EntryPartitionProperties;
+import com.finansys.backend.repository.EntryPartitionRepository;
+
+/*
+ * Mantém criadas as partições de entries do ano atual e dos próximos anos, na
+ * inicialização e diariamente. Lançamentos com datas além disso continuam sendo
+ * aceitos pela partição padrão.
+ */
+@Service
+public class EntryPartitionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(EntryPartitionService.class);
+
+	@Autowired
+	private EntryPartitionRepository entryPartitionRepository;
+
+	@Autowired
+	private EntryPartitionProperties properties;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${entry-partitions.maintain-cron:0 0 4 * * *}")
+	@Transactional
+	public void ensureFuturePartitions() {
+
+		int currentYear = LocalDate.now().getYear();
+
+		int created = entryPartitionRepository.ensurePartitions(currentYear, currentYear + properties.getYearsAhead());
+
+		if (created > 0) {
+
+			logger.info("Partições de lançamentos criadas: {} (até {})", created, currentYear + properties.getYearsAhead());
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package com.finansys.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.cache.CategoryCache.CachedCategory;
+import com.finansys.backend.config.RecurrenceProperties;
+import com.finansys.backend.dto.request.EntryRecurrenceRequestDTO;
+import com.finansys.backend.dto.request.EntryRecurrenceUpdateDTO;
+import com.finansys.backend.dto.response.EntryRecurrenceResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.entity.EntryRecurrence;
+import com.finansys.backend.exception.ResourceNotFoundException;
+import com.finansys.backend.repository.EntryBatchRepository;
+import com.finansys.backend.repository.EntryBatchRepository.SeriesOccurrence;
+import com.finansys.backend.repository.EntryRecurrenceBatchRepository;
+import com.finansys.backend.repository.EntryRecurrenceRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Lançamentos recorrentes e parcelados. A série é gravada uma vez e suas ocorrências são
+ * criadas em entries até o horizonte configurado: na criação da série e por um job diário
+ * que processa as séries pendentes em lotes, com INSERTs em lote. Alterar ou excluir uma
+ * série afeta, em um único comando, só as ocorrências a partir de hoje ainda não pagas.
+ */
+@Service
+@Transactional
+public class EntryRecurrenceService {
+
+	private static final Logger logger = LoggerFactory.getLogger(EntryRecurrenceService.class);
+
+	@Autowired
+	private EntryRecurrenceRepository entryRecurrenceRepository;
+
+	@Autowired
+	private EntryRecurrenceBatchRepository entryRecurrenceBatchRepository;
+
+	@Autowired
+	private EntryBatchRepository entryBatchRepository;
+
+	@Autowired
+	private EntryChangeRecorder entryChangeRecorder;
+
+	@Autowired
+	private CategoryCache categoryCache;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	@Autowired
+	private RecurrenceProperties properties;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate writeTemplate;
+
+	@PostConstruct
+	void init() {
+
+		writeTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public EntryRecurrenceResponseDTO createRecurrence(EntryRecurrenceRequestDTO recurrenceRequest) {
+
+		Long userId = currentUser.getId();
+
+		CachedCategory category = findCategory(userId, recurrenceRequest.categoryId());
+
+		EntryRecurrence recurrence = EntryRecurrence.builder()
+				.userId(userId)
+				.name(recurrenceRequest.name())
+				.description(recurrenceRequest.description())
+				.type(recurrenceRequest.type())
+				.amount(recurrenceRequest.amount())
+				.categoryId(recurrenceRequest.categoryId())
+				.frequency(recurrenceRequest.frequency())
+				.startDate(recurrenceRequest.startDate())
+				.installments(recurrenceRequest.installments())
+				.nextOccurrence(1)
+				.nextDate(recurrenceRequest.startDate())
+				.build();
+
+		EntryRecurrence savedRecurrence = entryRecurrenceRepository.save(recurrence);
+
+		// Ocorrências até o horizonte criadas na mesma transação; o avanço da série é gravado no commit
+		materialize(List.of(savedRecurrence), horizon());
+
+		return convertToResponse(savedRecurrence, category.name());
+	}
+
+	@Transactional(readOnly = true)
+	public List<EntryRecurrenceResponseDTO> getAllRecurrences() {
+
+		Long userId = currentUser.getId();
+
+		List<EntryRecurrence> recurrences = entryRecurrenceRepository.findByUserId(userId, Sort.by("id"));
+
+		Map<Long, String> categoryNames = categoryCache.findNames(userId, recurrences.stream().map(EntryRecurrence::getCategoryId).distinct().toList());
+
+		return recurrences.stream()
+				.map(recurrence -> convertToResponse(recurrence, categoryNames.getOrDefault(recurrence.getCategoryId(), "Categoria não encontrada")))
+				.toList();
+	}
+
+	@Transactional(readOnly = true)
+	public EntryRecurrenceResponseDTO getRecurrenceById(Long id) {
+
+		Long userId = currentUser.getId();
+
+		EntryRecurrence recurrence = findRecurrence(userId, id);
+
+		String categoryName = categoryCache.findById(userId, recurrence.getCategoryId()).map(CachedCategory::name).orElse("Categoria não encontrada");
+
+		return convertToResponse(recurrence, categoryName);
+	}
+
+	public EntryRecurrenceResponseDTO updateRecurrence(Long id, EntryRecurrenceUpdateDTO recurrenceRequest) {
+
+		Long userId = currentUser.getId();
+
+		EntryRecurrence recurrence = findRecurrenceForUpdate(userId, id);
+
+		CachedCategory category = findCategory(userId, recurrenceRequest.categoryId());
+
+		recurrence.setName(recurrenceRequest.name());
+		recurrence.setDescription(recurrenceRequest.description());
+		recurrence.setType(recurrenceRequest.type());
+		recurrence.setAmount(recurrenceRequest.amount());
+		recurrence.setCategoryId(recurrenceRequest.categoryId());
+
+		List<SeriesOccurrence> changed = entryBatchRepository.updateSeries(userId, recurrence, LocalDate.now());
+
+		entryChangeRecorder.record(
+				changed.stream().map(occurrence -> toSnapshot(userId, occurrence)).toList(),
+				changed.stream().map(occurrence -> new EntrySnapshot(userId, occurrence.date(), recurrence.getCategoryId(), recurrence.getType(), false, recurrence.getAmount())).toList());
+
+		return convertToResponse(recurrence, category.name());
+	}
+
+	// Encerra a série: remove as ocorrências futuras não pagas e mantém as demais como lançamentos avulsos
+	public void deleteRecurrence(Long id) {
+
+		Long userId = currentUser.getId();
+
+		EntryRecurrence recurrence = findRecurrenceForUpdate(userId, id);
+
+		List<SeriesOccurrence> deleted = entryBatchRepository.deleteSeries(userId, id, LocalDate.now());
+
+		entryChangeRecorder.recordDeleted(deleted.stream().map(occurrence -> toSnapshot(userId, occurrence)).toList());
+
+		entryRecurrenceRepository.delete(recurrence);
+	}
+
+	/*
+	 * Cria as ocorrências que entraram no horizonte. Cada lote de séries é processado em
+	 * uma transação própria, então os bloqueios duram só o lote; o loop termina quando
+	 * não restam séries pendentes (as processadas passam a ter next_date além do horizonte).
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${recurrences.materialize-cron:0 15 0 * * *}")
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public int materializeDue() {
+
+		LocalDate until = horizon();
+
+		int total = 0;
+
+		while (true) {
+
+			Integer created = writeTemplate.execute(status -> {
+
+				List<EntryRecurrence> due = entryRecurrenceBatchRepository.claimDue(until, properties.getBatchSize());
+
+				if (due.isEmpty()) {
+
+					return null;
+				}
+
+				int count = materialize(due, until);
+
+				entryRecurrenceBatchRepository.updateProgress(due);
+
+				return count;
+			});
+
+			if (created == null) {
+
+				break;
+			}
+
+			total += created;
+		}
+
+		if (total > 0) {
+
+			logger.info("Ocorrências de lançamentos recorrentes criadas: {} (até {})", total, until);
+		}
+
+		return total;
+	}
+
+	// Grava as ocorrências até a data informada e avança next_occurrence/next_date de cada série
+	private int materialize(List<EntryRecurrence> recurrences, LocalDate until) {
+
+		List<Entry> entries = new ArrayList<>();
+
+		for (EntryRecurrence recurrence : recurrences) {
+
+			while (recurrence.getNextDate() != null && !recurrence.getNextDate().isAfter(until)) {
+
+				int occurrence = recurrence.getNextOccurrence();
+
+				entries.add(Entry.builder()
+						.userId(recurrence.getUserId())
+						.name(recurrence.occurrenceName(occurrence))
+						.description(recurrence.getDescription())
+						.type(recurrence.getType())
+						.amount(recurrence.getAmount())
+						.date(recurrence.getNextDate())
+						.categoryId(recurrence.getCategoryId())
+						.recurrenceId(recurrence.getId())
+						.occurrence(occurrence)
+						.build());
+
+				recurrence.setNextOccurrence(occurrence + 1);
+				recurrence.setNextDate(recurrence.occurrenceDate(occurrence + 1));
+			}
+		}
+
+		entryBatchRepository.insertAll(entries, properties.getBatchSize());
+
+		entryChangeRecorder.recordCreated(entries.stream().map(EntrySnapshot::of).toList());
+
+		return entries.size();
+	}
+
+	private LocalDate horizon() {
+
+		return LocalDate.now().plusDays(properties.getHorizonDays());
+	}
+
+	private EntryRecurrence findRecurrence(Long userId, Long id) {
+
+		return entryRecurrenceRepository.findByIdAndUserId(id, userId).orElseThrow(() -> new ResourceNotFoundException("Lançamento recorrente não encontrado com ID: " + id));
+	}
+
+	/*
+	 * Alterar ou excluir a série bloqueia a linha antes de lê-la. Assim o flush não grava
+	 * next_occurrence/next_date lidos antes de um lote do job em andamento terminar, e o
+	 * comando sobre as ocorrências alcança também as que esse lote acabou de criar.
+	 */
+	private EntryRecurrence findRecurrenceForUpdate(Long userId, Long id) {
+
+		return entryRecurrenceRepository.findForUpdateByIdAndUserId(id, userId).orElseThrow(() -> new ResourceNotFoundException("Lançamento recorrente não encontrado com ID: " + id));
+	}
+
+	private CachedCategory findCategory(Long userId, Long categoryId) {
+
+		return categoryCache.findById(userId, categoryId).orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada com ID: " + categoryId));
+	}
+
+	private EntrySnapshot toSnapshot(Long userId, SeriesOccurrence occurrence) {
+
+		return new EntrySnapshot(userId, occurrence.date(), occurrence.categoryId(), occurrence.type(), false, occurrence.amount());
+	}
+
+	private EntryRecurrenceResponseDTO convertToResponse(EntryRecurrence recurrence, String categoryName) {
+
+		return new EntryRecurrenceResponseDTO(recurrence.getId(), recurrence.getName(), recurrence.getDescription(), recurrence.getType(), recurrence.getAmount(),
+				recurrence.getCategoryId(), categoryName, recurrence.getFrequency(), recurrence.getStartDate(), recurrence.getInstallments(), recurrence.getNextDate(),
+				recurrence.getCreatedAt(), recurrence.getUpdatedAt());
+	}
+}
@@ -1,42 +1,73 @@
 package com.finansys.backend.service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.cache.CategoryCache.CachedCategory;
 import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.CursorPageResponseDTO;
+import com.finansys.backend.dto.response.EntryCountBreakdownDTO;
 import com.finansys.backend.dto.response.EntryResponseDTO;
-import com.finansys.backend.entity.Category;
 import com.finansys.backend.entity.Entry;
-import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository;
 import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 @Transactional
 public class EntryService {
-
+	
+	// Apenas date: com o desempate por id, a ordem (date, id) é a do índice idx_entry_user_date (user_id, date, id)
+	private static final List<String> SORTABLE_FIELDS = List.of("date");
+	
 	@Autowired
 	private EntryRepository entryRepository;
 	
 	@Autowired
-	private CategoryRepository categoryRepository;
+	private CategoryCache categoryCache;
+	
+	@Autowired
+	private EntryMonthlyTotalRepository entryMonthlyTotalRepository;
+	
+	@Autowired
+	private EntryChangeRecorder entryChangeRecorder;
+	
+	@Autowired
+	private DueEntriesService dueEntriesService;
+	
+	@Autowired
+	private RowCounterService rowCounterService;
+	
+	@Autowired
+	private CurrentUser currentUser;
 	
 	public EntryResponseDTO createEntry(EntryRequestDTO entryRequest) {
 		
-		// Verificar se a categoria existe
-		Category category = categoryRepository.findById(entryRequest.categoryId()).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + entryRequest.categoryId()));
+		Long userId = currentUser.getId();
+		
+		// Verificar se a categoria existe e pertence ao usuário
+		CachedCategory category = categoryCache.findById(userId, entryRequest.categoryId()).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + entryRequest.categoryId()));
 		
 		Entry entry = new Entry();
 		entry.setName(entryRequest.name());
@@ -45,7 +76,7 @@ public class EntryService {
 		entry.setAmount(entryRequest.amount());
 		entry.setDate(entryRequest.date());
 		entry.setCategoryId(entryRequest.categoryId());
-		
+		entry.setUserId(userId);
 		
 		if (entryRequest.paid() != null) {
 			
@@ -54,17 +85,19 @@ public class EntryService {
 		
 		Entry savedEntry = entryRepository.save(entry);
 		
-		return convertToResponse(savedEntry, category.getName());
+		entryChangeRecorder.recordCreated(List.of(EntrySnapshot.of(savedEntry)));
+		
+		return convertToResponse(savedEntry, category.name());
 	}
 	
 	@Transactional(readOnly = true)
 	public EntryResponseDTO getEntryById(Long id) {
 		
-		Entry entry = entryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		Long userId = currentUser.getId();
 		
-		Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
+		Entry entry = entryRepository.findByIdAndUserId(id, userId).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
 		
-		String categoryName = category != null ? category.getName() : "Categoria não encontrada";
+		String categoryName = categoryCache.findById(userId, entry.getCategoryId()).map(CachedCategory::name).orElse("Categoria não encontrada");
 		
 		return convertToResponse(entry, categoryName);
 	}
@@ -72,46 +105,96 @@ public class EntryService {
 	@Transactional(readOnly = true)
 	public List<EntryResponseDTO> getAllEntries() {
 		
-		List<Entry> entries = entryRepository.findAll(Sort.by(Sort.Direction.DESC,"date"));
+		List<Entry> entries = entryRepository.findByUserId(currentUser.getId(), Sort.by(Sort.Direction.DESC,"date"));
 		
-		return entries.stream().map(entry -> {
-			
-			Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
-			
-			String categoryName = category != null ? category.getName() : "Categoria não encontrada";
-			
-			return convertToResponse(entry, categoryName);
-		})
-		.collect(Collectors.toList());
+		return convertToResponse(entries);
 	}
 	
 	@Transactional(readOnly = true)
 	public Page<EntryResponseDTO> getAllEntriesPaginated(int page, int size, String sortBy, String sortDir) {
 		
+		PageLimits.validate(page, size);
+		
+		if (!SORTABLE_FIELDS.contains(sortBy)) {
+			
+			throw new BadRequestException("Ordenação permitida apenas pelos campos: " + String.join(", ", SORTABLE_FIELDS));
+		}
+		
 		Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 		
-		Pageable pageable = PageRequest.of(page, size, sort);
+		// Desempate pelo id para manter a ordem estável entre páginas
+		Pageable pageable = PageRequest.of(page, size, sort.and(Sort.by(sort.getOrderFor(sortBy).getDirection(), "id")));
+		
+		Page<Entry> entries = entryRepository.findByUserId(currentUser.getId(), pageable);
+		
+		Map<Long, String> categoryNames = findCategoryNames(entries.getContent());
+		
+		return entries.map(entry -> convertToResponse(entry, categoryNames));
+	}
+	
+	@Transactional(readOnly = true)
+	public Slice<EntryResponseDTO> searchEntries(String searchTerm, int page, int size) {
+		
+		PageLimits.validate(page, size);
+		
+		SearchTerm search = SearchTerm.of(searchTerm);
+		
+		// Sem contagem total: a página seguinte é detectada buscando um registro a mais
+		Pageable pageable = PageRequest.of(page, size);
+		
+		Slice<Entry> entries = entryRepository.search(currentUser.getId(), search.term(), search.pattern(), pageable);
+		
+		Map<Long, String> categoryNames = findCategoryNames(entries.getContent());
+		
+		return entries.map(entry -> convertToResponse(entry, categoryNames));
+	}
+	
+	@Transactional(readOnly = true)
+	public CursorPageResponseDTO<EntryResponseDTO> getEntriesByCursor(String cursor, int size, String sortDir) {
+		
+		PageLimits.validateSize(size);
+		
+		Long userId = currentUser.getId();
+		
+		boolean descending = !sortDir.equalsIgnoreCase("asc");
 		
-		Page<Entry> entries = entryRepository.findAll(pageable);
+		// Busca um registro a mais para saber se existe próxima página sem executar COUNT
+		int limit = size + 1;
 		
-		return entries.map(entry -> {
+		List<Entry> entries;
+		
+		if (cursor == null || cursor.isBlank()) {
+			
+			Pageable pageable = PageRequest.of(0, limit);
 			
-			Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
+			entries = descending ? entryRepository.findByUserIdOrderByDateDescIdDesc(userId, pageable) : entryRepository.findByUserIdOrderByDateAscIdAsc(userId, pageable);
+		} else {
 			
-			String categoryName = category != null ? category.getName() : "Categoria não encontrada";
+			EntryCursor position = decodeCursor(cursor);
 			
-			return convertToResponse(entry, categoryName);
-		});
+			entries = descending ? entryRepository.findPageBeforeCursor(userId, position.date(), position.id(), limit) : entryRepository.findPageAfterCursor(userId, position.date(), position.id(), limit);
+		}
+		
+		boolean hasNext = entries.size() > size;
+		
+		if (hasNext) {
+			
+			entries = entries.subList(0, size);
+		}
+		
+		String nextCursor = hasNext ? encodeCursor(entries.get(entries.size() - 1)) : null;
+		
+		return new CursorPageResponseDTO<>(convertToResponse(entries), size, nextCursor, hasNext);
 	}
 	
 	@Transactional(readOnly = true)
 	public List<EntryResponseDTO> getEntriesByCategory(Long categoryId) {
 		
-		List<Entry> entries = entryRepository.findByCategoryIdOrderByDateDesc(categoryId);
+		Long userId = currentUser.getId();
 		
-		Category category = categoryRepository.findById(categoryId).orElse(null);
+		List<Entry> entries = entryRepository.findByUserIdAndCategoryIdOrderByDateDesc(userId, categoryId);
 		
-		String categoryName = category != null ? category.getName() : "Categoria não encontrada";
+		String categoryName = categoryCache.findById(userId, categoryId).map(CachedCategory::name).orElse("Categoria não encontrada");
 		
 		return entries.stream().map(entry -> convertToResponse(entry, categoryName)).collect(Collectors.toList());
 	}
@@ -119,57 +202,55 @@ public class EntryService {
 	@Transactional(readOnly = true)
 	public List<EntryResponseDTO> getEntriesByType(String type) {
 			
-		List<Entry> entries = entryRepository.findByType(type);
+		List<Entry> entries = entryRepository.findByUserIdAndType(currentUser.getId(), type);
 		
-		return entries.stream().map(entry -> {
-			
-			Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
-			
-			String categoryName = category != null ? category.getName() : "Categoria não encontrada";
-			
-			return convertToResponse(entry, categoryName);
-		})
-		.collect(Collectors.toList());
+		return convertToResponse(entries);
 	}
 	
 	@Transactional(readOnly = true)
 	public List<EntryResponseDTO> getEntriesByPaidStatus(Boolean paid) {
 			
-		List<Entry> entries = entryRepository.findByPaid(paid);
+		List<Entry> entries = entryRepository.findByUserIdAndPaid(currentUser.getId(), paid);
 		
-		return entries.stream().map(entry -> {
-			
-			Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
-			
-			String categoryName = category != null ? category.getName() : "Categoria não encontrada";
-			
-			return convertToResponse(entry, categoryName);
-		})
-		.collect(Collectors.toList());
+		return convertToResponse(entries);
 	}
 	
 	@Transactional(readOnly = true)
 	public List<EntryResponseDTO> getEntriesByDateRange(LocalDate startDate, LocalDate endDate) {
 			
-		List<Entry> entries = entryRepository.findByDateBetween(startDate, endDate);
+		List<Entry> entries = entryRepository.findByUserIdAndDateBetween(currentUser.getId(), startDate, endDate);
 		
-		return entries.stream().map(entry -> {
-			
-			Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
-			
-			String categoryName = category != null ? category.getName() : "Categoria não encontrada";
+		return convertToResponse(entries);
+	}
+	
+	@Transactional(readOnly = true)
+	public List<EntryResponseDTO> getOverdueEntries() {
+		
+		return convertDueEntries(dueEntriesService.getOverdueEntries(currentUser.getId()));
+	}
+	
+	@Transactional(readOnly = true)
+	public List<EntryResponseDTO> getUpcomingEntries(int days) {
+		
+		if (days < 0) {
 			
-			return convertToResponse(entry, categoryName);
-		})
-		.collect(Collectors.toList());
+			throw new BadRequestException("Quantidade de dias deve ser maior ou igual a zero");
+		}
+		
+		return convertDueEntries(dueEntriesService.getUpcomingEntries(currentUser.getId(), days));
 	}
 	
 	public EntryResponseDTO updateEntry(Long id, EntryRequestDTO entryRequest) {
 		
-		Entry entry = entryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		Long userId = currentUser.getId();
 		
-		// Verificar se a nova categoria existe
-		Category category = categoryRepository.findById(entryRequest.categoryId()).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + entryRequest.categoryId()));
+		Entry entry = entryRepository.findForUpdateByIdAndUserId(id, userId).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		
+		// Verificar se a nova categoria existe e pertence ao usuário
+		CachedCategory category = categoryCache.findById(userId, entryRequest.categoryId()).orElseThrow(() -> new EntityNotFoundException("Categoria não encontrada com ID: " + entryRequest.categoryId()));
+		
+		// Lido com bloqueio: outra escrita no mesmo lançamento espera o commit desta, e não registra o mesmo estado anterior nas agregações
+		EntrySnapshot previous = EntrySnapshot.of(entry);
 		
 		entry.setName(entryRequest.name());
 		entry.setDescription(entryRequest.description());
@@ -185,50 +266,127 @@ public class EntryService {
 		
 		Entry updatedEntry = entryRepository.save(entry);
 		
-		return convertToResponse(updatedEntry, category.getName());
+		entryChangeRecorder.record(List.of(previous), List.of(EntrySnapshot.of(updatedEntry)));
+		
+		return convertToResponse(updatedEntry, category.name());
 	}
 	
 	public EntryResponseDTO updatePaidStatus(Long id, Boolean paid) {
 		
-		Entry entry = entryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		Long userId = currentUser.getId();
+		
+		Entry entry = entryRepository.findForUpdateByIdAndUserId(id, userId).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		
+		EntrySnapshot previous = EntrySnapshot.of(entry);
+		
 		entry.setPaid(paid);
 		
 		Entry updatedEntry = entryRepository.save(entry);
 		
-		Category category = categoryRepository.findById(entry.getCategoryId()).orElse(null);
+		entryChangeRecorder.record(List.of(previous), List.of(EntrySnapshot.of(updatedEntry)));
 		
-		String categoryName = category != null ? category.getName() : "Categoria não encontrada";
+		String categoryName = categoryCache.findById(userId, entry.getCategoryId()).map(CachedCategory::name).orElse("Categoria não encontrada");
 		
 		return convertToResponse(updatedEntry, categoryName);
 	}
 	
 	public void deleteEntry(Long id) {
 		
-		Entry entry = entryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
+		Entry entry = entryRepository.findForUpdateByIdAndUserId(id, currentUser.getId()).orElseThrow(() -> new EntityNotFoundException("Lançamento não encontrado com ID: " + id));
 		
 		entryRepository.delete(entry);
+		
+		entryChangeRecorder.recordDeleted(List.of(EntrySnapshot.of(entry)));
 	}
 	
+	// Totais lidos da tabela de totais mensais: o custo cresce com o número de meses, não de lançamentos
 	@Transactional(readOnly = true)
 	public BigDecimal getTotalByType(String type) {
 			
-		Optional<BigDecimal> total = entryRepository.sumAmountByTypeAndPaid(type, true);
-		
-		return total.orElse(BigDecimal.ZERO);
+		return entryMonthlyTotalRepository.sumByTypeAndPaid(currentUser.getId(), type, true);
 	}
 	
 	@Transactional(readOnly = true)
 	public BigDecimal getTotalByCategory(Long categoryId) {
 		
-		Optional<BigDecimal> total = entryRepository.sumAmountByCategoryAndPaid(categoryId, true);
-		
-		return total.orElse(BigDecimal.ZERO);
+		return entryMonthlyTotalRepository.sumByCategoryAndPaid(currentUser.getId(), categoryId, true);
 	}
 	
 	@Transactional(readOnly = true)
 	public long getTotalCount() {
 		
-		return entryRepository.count();
+		return rowCounterService.countEntries(currentUser.getId());
+	}
+	
+	@Transactional(readOnly = true)
+	public EntryCountBreakdownDTO getCountBreakdown() {
+		
+		return rowCounterService.getEntryBreakdown(currentUser.getId());
+	}
+	
+	// Cursor opaco no formato base64url("data:id") do último registro da página
+	private String encodeCursor(Entry entry) {
+		
+		String position = entry.getDate() + ":" + entry.getId();
+		
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private EntryCursor decodeCursor(String cursor) {
+		
+		try {
+			
+			String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			
+			int separator = position.lastIndexOf(':');
+			
+			return new EntryCursor(LocalDate.parse(position.substring(0, separator)), Long.valueOf(position.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			
+			throw new BadRequestException("Cursor de paginação inválido");
+		}
+	}
+	
+	// Visível no pacote para o benchmark de conversão (src/jmh/java)
+	List<EntryResponseDTO> convertToResponse(List<Entry> entries) {
+		
+		Map<Long, String> categoryNames = findCategoryNames(entries);
+		
+		return entries.stream().map(entry -> convertToResponse(entry, categoryNames)).collect(Collectors.toList());
+	}
+	
+	// Os nomes das categorias são resolvidos na leitura, e não guardados nas listas em cache, para refletir renomeações
+	private List<EntryResponseDTO> convertDueEntries(List<DueEntry> entries) {
+		
+		Map<Long, String> categoryNames = categoryCache.findNames(currentUser.getId(), entries.stream().map(DueEntry::categoryId).collect(Collectors.toSet()));
+		
+		return entries.stream()
+				.map(entry -> new EntryResponseDTO(
+					entry.id(),
+					entry.name(),
+					entry.description(),
+					entry.type(),
+					entry.amount(),
+					entry.date(),
+					entry.paid(),
+					entry.categoryId(),
+					categoryNames.getOrDefault(entry.categoryId(), "Categoria não encontrada"),
+					entry.createdAt(),
+					entry.updatedAt()))
+				.collect(Collectors.toList());
+	}
+	
+	// Resolve os nomes de todas as categorias da listagem pelo cache, com no máximo uma consulta
+	private Map<Long, String> findCategoryNames(Collection<Entry> entries) {
+		
+		Set<Long> categoryIds = entries.stream().map(Entry::getCategoryId).collect(Collectors.toSet());
+		
+		return categoryCache.findNames(currentUser.getId(), categoryIds);
+	}
+	
+	private EntryResponseDTO convertToResponse(Entry entry, Map<Long, String> categoryNames) {
+		
+		return convertToResponse(entry, categoryNames.getOrDefault(entry.getCategoryId(), "Categoria não encontrada"));
 	}
 	
 	private EntryResponseDTO convertToResponse(Entry entry, String categoryName) {
@@ -246,4 +404,7 @@ public class EntryService {
 			entry.getUpdatedAt()
 		);
 	}
+	
+	private record EntryCursor(LocalDate date, Long id) {
+	}
 }
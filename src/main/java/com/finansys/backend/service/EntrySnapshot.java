@@ -0,0 +1,15 @@
+package com.finansys.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.finansys.backend.entity.Entry;
+
+// Campos de um lançamento que alimentam as agregações, capturados antes e depois de cada escrita
+public record EntrySnapshot(Long userId, LocalDate date, Long categoryId, String type, boolean paid, BigDecimal amount) {
+
+	public static EntrySnapshot of(Entry entry) {
+		
+		return new EntrySnapshot(entry.getUserId(), entry.getDate(), entry.getCategoryId(), entry.getType(), Boolean.TRUE.equals(entry.getPaid()), entry.getAmount());
+	}
+}
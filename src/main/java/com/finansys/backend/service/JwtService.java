@@ -1,20 +1,33 @@
 package com.finansys.backend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.finansys.backend.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -22,6 +35,9 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
@@ -34,6 +50,65 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Chave e parser são imutáveis e thread-safe: criados uma única vez
+    private Key signInKey;
+    
+    private JwtParser jwtParser;
+    
+    /*
+     * Claims de tokens já verificados, indexados pelo SHA-256 do token (o token em si não
+     * fica em memória). Cada entrada expira junto com o token, então um token expirado
+     * nunca é aceito a partir do cache.
+     */
+    private Cache<String, Claims> verifiedClaims;
+    
+    @PostConstruct
+    void init() {
+    	
+        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+        
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                	
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                    	
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                    	
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                    	
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt.verified-claims");
+    }
+    
     public String generateToken(UserDetails userDetails) {
     	
         Map<String, Object> claims = new HashMap<>();
@@ -57,7 +132,7 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -78,13 +153,34 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     
+    // Claims verificados do token, ou vazio se o token for inválido ou estiver expirado
+    public Optional<Claims> parseToken(String token) {
+    	
+        try {
+        	
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+        	
+            return Optional.empty();
+        }
+    }
+    
     private Claims extractAllClaims(String token) {
     	
+        if (token == null || token.isBlank()) {
+        	
+            throw new IllegalArgumentException("Token JWT vazio");
+        }
+        
+        // Só tokens com assinatura válida e não expirados chegam ao cache: o parser lança exceção nos demais
+        return verifiedClaims.get(hash(token), key -> parseClaims(token));
+    }
+    
+    private Claims parseClaims(String token) {
+    	
         try {
         	
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -135,11 +231,17 @@ public class JwtService {
         }
     }
     
-    private Key getSignInKey() {
+    private String hash(String token) {
     	
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        
-        return Keys.hmacShaKeyFor(keyBytes);
+        try {
+        	
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+        	
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
     
     public long getExpirationTime() {
@@ -149,18 +251,7 @@ public class JwtService {
     
     public boolean isTokenValid(String token) {
     	
-        try {
-        	
-            Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token);
-            
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-        	
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
     
     public Long extractUserId(String token) {
@@ -184,6 +275,13 @@ public class JwtService {
         claims.put("email", email);
         claims.put("authorities", userDetails.getAuthorities());
         
+        // Permitem montar o usuário autenticado sem consultar o banco a cada requisição
+        if (userDetails instanceof User user) {
+        	
+            claims.put("name", user.getName());
+            claims.put("role", user.getRole().name());
+        }
+        
         return createToken(claims, userDetails.getUsername());
     }
 }
@@ -0,0 +1,91 @@
+package com.finansys.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.finansys.backend.repository.UserBatchRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Registra o último login fora da transação do login. Os horários ficam em memória
+ * (um por usuário, o mais recente) e são gravados periodicamente com um único
+ * UPDATE sobre todos os usuários do ciclo, cada um com o seu horário exato. O buffer
+ * é gravado também no desligamento da aplicação; a quantidade pendente aparece na
+ * métrica users.last-login.pending.
+ */
+@Component
+public class LastLoginWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(LastLoginWriter.class);
+	
+	@Autowired
+	private UserBatchRepository userBatchRepository;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+	
+	@PostConstruct
+	void init() {
+		
+		Gauge.builder("users.last-login.pending", pending, Map::size)
+				.description("Últimos logins aguardando gravação")
+				.register(meterRegistry);
+	}
+	
+	public void record(Long userId, LocalDateTime lastLogin) {
+		
+		pending.merge(userId, lastLogin, (current, next) -> next.isAfter(current) ? next : current);
+	}
+	
+	@Scheduled(fixedDelayString = "${last-login.flush-interval:5s}")
+	public void flush() {
+		
+		if (pending.isEmpty()) {
+			
+			return;
+		}
+		
+		// Retira as entradas do buffer; logins registrados durante a gravação ficam para a próxima
+		Map<Long, LocalDateTime> drained = new HashMap<>();
+		
+		for (Long userId : pending.keySet()) {
+			
+			LocalDateTime lastLogin = pending.remove(userId);
+			
+			if (lastLogin != null) {
+				
+				drained.put(userId, lastLogin);
+			}
+		}
+		
+		try {
+			
+			userBatchRepository.updateLastLogins(drained);
+		} catch (RuntimeException e) {
+			
+			logger.error("Erro ao gravar últimos logins, nova tentativa no próximo ciclo: {}", e.getMessage());
+			
+			drained.forEach(this::record);
+		}
+	}
+	
+	@PreDestroy
+	void flushOnShutdown() {
+		
+		flush();
+	}
+}
@@ -0,0 +1,34 @@
+package com.finansys.backend.service;
+
+import com.finansys.backend.exception.BadRequestException;
+
+/*
+ * Limites comuns às listagens paginadas de lançamentos e categorias. Cada registro custa
+ * uma linha lida, convertida e serializada, por isso o tamanho da página é limitado;
+ * valores fora dos limites resultam em 400 antes de chegar ao PageRequest.
+ */
+final class PageLimits {
+
+	static final int MAX_PAGE_SIZE = 100;
+
+	private PageLimits() {
+	}
+
+	static void validate(int page, int size) {
+
+		if (page < 0) {
+
+			throw new BadRequestException("Número da página deve ser maior ou igual a zero");
+		}
+
+		validateSize(size);
+	}
+
+	static void validateSize(int size) {
+
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+
+			throw new BadRequestException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+		}
+	}
+}
@@ -0,0 +1,304 @@
+package com.finansys.backend.service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finansys.backend.config.ReportProperties;
+import com.finansys.backend.dto.request.ReportJobRequestDTO;
+import com.finansys.backend.dto.response.CategoryBreakdownReportDTO;
+import com.finansys.backend.dto.response.DashboardCategoryTotalDTO;
+import com.finansys.backend.dto.response.ReportJobResponseDTO;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.exception.ResourceNotFoundException;
+import com.finansys.backend.exception.ServiceUnavailableException;
+import com.finansys.backend.exception.TooManyRequestsException;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository;
+import com.finansys.backend.repository.EntryMonthlyTotalRepository.CategoryTotal;
+import com.finansys.backend.repository.ReportJobRepository;
+import com.finansys.backend.repository.ReportJobRepository.ReportJob;
+import com.finansys.backend.security.CurrentUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Relatórios longos gerados fora da thread da requisição. O pedido é gravado e executado
+ * por um pool próprio e limitado (com a fila cheia o pedido é recusado na hora) e cada
+ * usuário tem um limite de pedidos em andamento. O resultado fica guardado em JSON até
+ * expirar e é reaproveitado por pedidos com os mesmos parâmetros enquanto os lançamentos e
+ * categorias do usuário não mudarem. Cada instância renova periodicamente o heartbeat dos
+ * pedidos que executa; pedidos sem heartbeat recente são de uma instância que parou.
+ */
+@Service
+public class ReportJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+	public static final String CATEGORY_BREAKDOWN = "category-breakdown";
+
+	private static final String INTERRUPTED_ERROR = "Relatório interrompido. Solicite novamente.";
+
+	// Identifica esta execução da aplicação como dona dos pedidos que ela aceita
+	private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+	@Autowired
+	private ReportJobRepository reportJobRepository;
+
+	@Autowired
+	private EntryMonthlyTotalRepository entryMonthlyTotalRepository;
+
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	@Autowired
+	private CurrentUser currentUser;
+
+	@Autowired
+	private ReportProperties properties;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private ThreadPoolExecutor executor;
+
+	private TransactionTemplate writeTemplate;
+
+	private TransactionTemplate snapshotTemplate;
+
+	@PostConstruct
+	void init() {
+
+		writeTemplate = new TransactionTemplate(transactionManager);
+
+		// Todas as consultas de um relatório no mesmo snapshot
+		snapshotTemplate = new TransactionTemplate(transactionManager);
+		snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		snapshotTemplate.setReadOnly(true);
+
+		AtomicInteger threadCount = new AtomicInteger();
+
+		executor = new ThreadPoolExecutor(
+				properties.getWorkers(),
+				properties.getWorkers(),
+				0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				runnable -> {
+
+					Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+
+		ExecutorServiceMetrics.monitor(meterRegistry, executor, "reports");
+	}
+
+	@PreDestroy
+	void shutdown() {
+
+		executor.shutdownNow();
+	}
+
+	public ReportJobResponseDTO submit(ReportJobRequestDTO reportRequest) {
+
+		if (reportRequest.from().isAfter(reportRequest.to())) {
+
+			throw new BadRequestException("Data inicial deve ser anterior ou igual à data final");
+		}
+
+		Long userId = currentUser.getId();
+
+		Submission submission = writeTemplate.execute(status -> {
+
+			reportJobRepository.lockUser(userId);
+
+			String dataVersion = dataVersionService.getVersionTag(userId);
+
+			Optional<ReportJob> existing = reportJobRepository.findReusable(userId, reportRequest.type(), reportRequest.from(), reportRequest.to(), dataVersion);
+
+			if (existing.isPresent()) {
+
+				return new Submission(existing.get(), false);
+			}
+
+			if (reportJobRepository.countActive(userId) >= properties.getMaxActivePerUser()) {
+
+				throw new TooManyRequestsException("Limite de relatórios em andamento atingido. Aguarde a conclusão dos anteriores.", 5);
+			}
+
+			return new Submission(reportJobRepository.insert(userId, reportRequest.type(), reportRequest.from(), reportRequest.to(), dataVersion, instanceId), true);
+		});
+
+		ReportJob job = submission.job();
+
+		// Enviado ao pool só após o commit, para que o worker encontre o pedido gravado
+		if (submission.created()) {
+
+			try {
+
+				executor.execute(() -> run(job));
+			} catch (RejectedExecutionException e) {
+
+				reportJobRepository.finish(job.id(), ReportJobRepository.FAILED, null, "Fila de relatórios cheia", null, expiresAt());
+
+				throw new ServiceUnavailableException("Servidor ocupado. Tente novamente em instantes.");
+			}
+		}
+
+		return convertToResponse(job);
+	}
+
+	public ReportJobResponseDTO getJob(UUID id) {
+
+		return convertToResponse(findJob(currentUser.getId(), id));
+	}
+
+	// Resultado em JSON, vazio enquanto o relatório não estiver concluído
+	public Optional<String> getResult(UUID id) {
+
+		return reportJobRepository.findResult(id, currentUser.getId());
+	}
+
+	@Scheduled(fixedDelayString = "${reports.heartbeat-interval:30s}")
+	public void heartbeat() {
+
+		reportJobRepository.heartbeat(instanceId);
+	}
+
+	/*
+	 * Pedidos interrompidos por uma parada da aplicação não voltam para a fila. Só são
+	 * marcados os pedidos sem heartbeat há mais de reports.stale-after, então os que outras
+	 * instâncias estão executando não são afetados.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${reports.stale-after:2m}", initialDelayString = "${reports.stale-after:2m}")
+	public void failStale() {
+
+		int failed = reportJobRepository.failStale(LocalDateTime.now().minus(properties.getStaleAfter()), INTERRUPTED_ERROR, expiresAt());
+
+		if (failed > 0) {
+
+			logger.warn("Relatórios interrompidos marcados como falha: {}", failed);
+		}
+	}
+
+	@Scheduled(cron = "${reports.cleanup-cron:0 */10 * * * *}")
+	public int deleteExpired() {
+
+		return reportJobRepository.deleteExpired();
+	}
+
+	private void run(ReportJob job) {
+
+		if (!reportJobRepository.markRunning(job.id())) {
+
+			return;
+		}
+
+		try {
+
+			/*
+			 * A versão dos dados é lida no mesmo snapshot do relatório e gravada com o resultado:
+			 * em uma réplica atrasada o snapshot pode ser anterior à versão lida no pedido, e o
+			 * resultado não deve ser reaproveitado como se fosse dessa versão.
+			 */
+			BuiltReport built = snapshotTemplate.execute(status -> new BuiltReport(dataVersionService.getVersionTag(job.userId()), buildReport(job)));
+
+			reportJobRepository.finish(job.id(), ReportJobRepository.DONE, objectMapper.writeValueAsString(built.report()), null, built.dataVersion(), expiresAt());
+		} catch (Exception e) {
+
+			logger.error("Falha ao gerar relatório {} ({})", job.id(), job.reportType(), e);
+
+			reportJobRepository.finish(job.id(), ReportJobRepository.FAILED, null, "Falha ao gerar relatório", null, expiresAt());
+		}
+	}
+
+	private Object buildReport(ReportJob job) {
+
+		return switch (job.reportType()) {
+
+			case CATEGORY_BREAKDOWN -> buildCategoryBreakdown(job.userId(), job.from(), job.to());
+			default -> throw new IllegalStateException("Tipo de relatório inesperado: " + job.reportType());
+		};
+	}
+
+	// Totais pagos por categoria no período, como no dashboard, sem o limite de uma requisição
+	private CategoryBreakdownReportDTO buildCategoryBreakdown(Long userId, LocalDate from, LocalDate to) {
+
+		BigDecimal totalRevenue = BigDecimal.ZERO;
+		BigDecimal totalExpense = BigDecimal.ZERO;
+
+		List<DashboardCategoryTotalDTO> categories = new ArrayList<>();
+
+		for (CategoryTotal total : entryMonthlyTotalRepository.sumByCategoryInPeriod(userId, from, to)) {
+
+			totalRevenue = totalRevenue.add(total.revenue());
+			totalExpense = totalExpense.add(total.expense());
+
+			categories.add(new DashboardCategoryTotalDTO(
+					total.categoryId(),
+					total.categoryName() != null ? total.categoryName() : "Categoria não encontrada",
+					total.revenue(),
+					total.expense()));
+		}
+
+		categories.sort(Comparator.comparing((DashboardCategoryTotalDTO category) -> category.revenue().add(category.expense())).reversed());
+
+		return new CategoryBreakdownReportDTO(from, to, totalRevenue, totalExpense, totalRevenue.subtract(totalExpense), categories);
+	}
+
+	private ReportJob findJob(Long userId, UUID id) {
+
+		return reportJobRepository.findByIdAndUserId(id, userId).orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado com ID: " + id));
+	}
+
+	private LocalDateTime expiresAt() {
+
+		return LocalDateTime.now().plus(properties.getResultTtl());
+	}
+
+	private ReportJobResponseDTO convertToResponse(ReportJob job) {
+
+		return new ReportJobResponseDTO(job.id(), job.reportType(), job.status(), job.from(), job.to(), job.error(),
+				job.createdAt(), job.startedAt(), job.finishedAt(), job.expiresAt());
+	}
+
+	private record Submission(ReportJob job, boolean created) {
+	}
+
+	private record BuiltReport(String dataVersion, Object report) {
+	}
+}
@@ -0,0 +1,235 @@
+package com.finansys.backend.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.finansys.backend.dto.response.EntryCountBreakdownDTO;
+import com.finansys.backend.dto.response.EntryCountDTO;
+import com.finansys.backend.repository.RowCounterRepository;
+import com.finansys.backend.repository.RowCounterRepository.Counter;
+
+import jakarta.annotation.PostConstruct;
+
+/*
+ * Contagens de lançamentos e categorias de cada usuário lidas de row_counters em vez de count(*).
+ * As escritas somam variações por transação, aplicadas uma vez logo antes do commit
+ * (as linhas dos contadores ficam bloqueadas só até o commit). A reconciliação
+ * periódica compara os contadores com as contagens reais e corrige a diferença.
+ */
+@Service
+public class RowCounterService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RowCounterService.class);
+
+	public static final String ENTRIES = "entries";
+
+	public static final String CATEGORIES = "categories";
+
+	private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::userId)
+			.thenComparing(Key::tableName)
+			.thenComparing(Key::type)
+			.thenComparing(Key::paid);
+
+	@Autowired
+	private RowCounterRepository rowCounterRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate snapshotTemplate;
+
+	private TransactionTemplate writeTemplate;
+
+	@PostConstruct
+	void init() {
+
+		/*
+		 * Contagens reais e contadores lidos no mesmo snapshot, em transação própria aberta
+		 * depois do bloqueio. Sem readOnly para ler do principal: uma réplica atrasada
+		 * poderia ainda não ter os ajustes da reconciliação anterior e repeti-los.
+		 */
+		snapshotTemplate = new TransactionTemplate(transactionManager);
+		snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		writeTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public void entryAdded(Long userId, String type, boolean paid) {
+
+		add(userId, ENTRIES, type, paid, 1);
+	}
+
+	public void entryRemoved(Long userId, String type, boolean paid) {
+
+		add(userId, ENTRIES, type, paid, -1);
+	}
+
+	public void categoryAdded(Long userId) {
+
+		add(userId, CATEGORIES, "", false, 1);
+	}
+
+	public void categoryRemoved(Long userId) {
+
+		add(userId, CATEGORIES, "", false, -1);
+	}
+
+	@Transactional(readOnly = true)
+	public long countEntries(Long userId) {
+
+		return rowCounterRepository.sumByTable(userId, ENTRIES);
+	}
+
+	@Transactional(readOnly = true)
+	public long countCategories(Long userId) {
+
+		return rowCounterRepository.sumByTable(userId, CATEGORIES);
+	}
+
+	@Transactional(readOnly = true)
+	public EntryCountBreakdownDTO getEntryBreakdown(Long userId) {
+
+		List<EntryCountDTO> counts = rowCounterRepository.findByTable(userId, ENTRIES).stream()
+				.filter(counter -> counter.rowCount() != 0)
+				.map(counter -> new EntryCountDTO(counter.type(), counter.paid(), counter.rowCount()))
+				.toList();
+
+		return new EntryCountBreakdownDTO(counts.stream().mapToLong(EntryCountDTO::count).sum(), counts);
+	}
+
+	/*
+	 * Calcula, em um único snapshot, a diferença entre as contagens reais e os contadores
+	 * e depois soma essa diferença aos contadores. Como toda escrita altera linhas e
+	 * contadores na mesma transação, a diferença medida no snapshot continua válida mesmo
+	 * com escritas concorrentes, sem bloquear as tabelas durante a contagem. Duas
+	 * reconciliações simultâneas (o job de cada instância ou o endpoint de administração)
+	 * aplicariam a mesma diferença duas vezes, por isso a transação do ajuste toma um
+	 * advisory lock antes do snapshot e o mantém até o commit; sem o bloqueio a execução
+	 * é descartada e o resultado fica vazio.
+	 */
+	@Scheduled(cron = "${row-counters.reconcile-cron:0 30 3 * * *}")
+	public OptionalInt reconcile() {
+
+		return writeTemplate.execute(status -> {
+
+			if (!rowCounterRepository.tryLockReconcile()) {
+
+				logger.info("Reconciliação de contadores já em andamento; execução ignorada");
+
+				return OptionalInt.empty();
+			}
+
+			return OptionalInt.of(reconcileLocked());
+		});
+	}
+
+	private int reconcileLocked() {
+
+		List<Counter> drift = snapshotTemplate.execute(status -> {
+
+			Map<Key, Long> difference = new HashMap<>();
+
+			for (Counter counter : rowCounterRepository.countEntries()) {
+
+				difference.merge(Key.of(counter), counter.rowCount(), Long::sum);
+			}
+
+			for (Counter counter : rowCounterRepository.countCategories()) {
+
+				difference.merge(Key.of(counter), counter.rowCount(), Long::sum);
+			}
+
+			for (Counter counter : rowCounterRepository.findAll()) {
+
+				difference.merge(Key.of(counter), -counter.rowCount(), Long::sum);
+			}
+
+			return toDeltas(difference);
+		});
+
+		if (drift.isEmpty()) {
+
+			return 0;
+		}
+
+		drift.forEach(counter -> logger.warn("Contador de {} do usuário {} (type='{}', paid={}) divergente; ajuste de {}",
+				counter.tableName(), counter.userId(), counter.type(), counter.paid(), counter.rowCount()));
+
+		rowCounterRepository.applyDeltas(drift);
+
+		return drift.size();
+	}
+
+	private void add(Long userId, String tableName, String type, boolean paid, long delta) {
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+
+			throw new IllegalStateException("Contadores de linhas só podem ser alterados dentro de uma transação");
+		}
+
+		@SuppressWarnings("unchecked")
+		Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+
+		if (pending == null) {
+
+			Map<Key, Long> deltas = new HashMap<>();
+
+			TransactionSynchronizationManager.bindResource(this, deltas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void beforeCommit(boolean readOnly) {
+
+					rowCounterRepository.applyDeltas(toDeltas(deltas));
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+
+					TransactionSynchronizationManager.unbindResourceIfPossible(RowCounterService.this);
+				}
+			});
+
+			pending = deltas;
+		}
+
+		pending.merge(new Key(userId, tableName, type, paid), delta, Long::sum);
+	}
+
+	// Descarta as variações nulas e ordena pela chave
+	private List<Counter> toDeltas(Map<Key, Long> deltas) {
+
+		Map<Key, Long> sorted = new TreeMap<>(KEY_ORDER);
+		sorted.putAll(deltas);
+
+		return sorted.entrySet().stream()
+				.filter(delta -> delta.getValue() != 0)
+				.map(delta -> new Counter(delta.getKey().userId(), delta.getKey().tableName(), delta.getKey().type(), delta.getKey().paid(), delta.getValue()))
+				.toList();
+	}
+
+	private record Key(Long userId, String tableName, String type, boolean paid) {
+
+		private static Key of(Counter counter) {
+
+			return new Key(counter.userId(), counter.tableName(), counter.type(), counter.paid());
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.finansys.backend.service;
+
+import com.finansys.backend.exception.BadRequestException;
+
+/*
+ * Termo de busca normalizado e o padrão ILIKE correspondente, com os curingas do
+ * usuário escapados. Termos com menos de três caracteres não geram trigramas completos
+ * e obrigariam o Postgres a percorrer o índice inteiro, por isso são recusados.
+ */
+record SearchTerm(String term, String pattern) {
+
+	static final int MIN_LENGTH = 3;
+
+	static SearchTerm of(String value) {
+
+		String term = value != null ? value.trim() : "";
+
+		if (term.length() < MIN_LENGTH) {
+
+			throw new BadRequestException("Termo de busca deve ter ao menos " + MIN_LENGTH + " caracteres");
+		}
+
+		String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+		return new SearchTerm(term, "%" + escaped + "%");
+	}
+}
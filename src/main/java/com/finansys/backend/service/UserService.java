@@ -0,0 +1,34 @@
+package com.finansys.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.cache.UserStatusCache;
+import com.finansys.backend.exception.ResourceNotFoundException;
+import com.finansys.backend.repository.UserRepository;
+
+
+@Service
+@Transactional
+public class UserService {
+
+	@Autowired
+	private UserRepository userRepository;
+	
+	@Autowired
+	private UserStatusCache userStatusCache;
+	
+	// Habilita ou desabilita a conta; tokens já emitidos deixam de autenticar assim que o cache é invalidado
+	public void updateUserStatus(Long id, boolean enabled) {
+		
+		if (!userRepository.existsById(id)) {
+			
+			throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
+		}
+		
+		userRepository.updateUserStatus(id, enabled);
+		
+		userStatusCache.evict(id);
+	}
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_entry_date_id ON public.entries USING btree (date, id);
@@ -0,0 +1,14 @@
+CREATE TABLE public.entry_monthly_totals (
+	"month" date NOT NULL,
+	category_id int8 NOT NULL,
+	"type" varchar(20) NOT NULL,
+	paid bool NOT NULL,
+	total numeric(16, 2) NOT NULL,
+	entry_count int8 NOT NULL,
+	CONSTRAINT entry_monthly_totals_pkey PRIMARY KEY ("month", category_id, "type", paid)
+);
+
+INSERT INTO public.entry_monthly_totals ("month", category_id, "type", paid, total, entry_count)
+SELECT date_trunc('month', e."date")::date, e.category_id, e."type", e.paid, SUM(e.amount), COUNT(*)
+FROM public.entries e
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,2 @@
+-- Índice parcial apenas com lançamentos não pagos: cresce com as pendências, não com o histórico pago
+CREATE INDEX idx_entry_unpaid_date ON public.entries USING btree (date) WHERE paid = false;
@@ -0,0 +1,5 @@
+ALTER TABLE public.users ADD CONSTRAINT users_pkey PRIMARY KEY (id);
+
+-- O índice comum de email é substituído por um índice único, usado no login
+DROP INDEX IF EXISTS idx_user_email;
+CREATE UNIQUE INDEX uk_user_email ON public.users USING btree (email);
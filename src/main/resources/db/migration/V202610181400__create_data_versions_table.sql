@@ -0,0 +1,8 @@
+-- Versão de cada conjunto de dados, incrementada na transação de cada escrita.
+-- Usada como ETag das listagens para responder 304 sem consultar as tabelas.
+CREATE TABLE data_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO data_versions (name) VALUES ('entries'), ('categories');
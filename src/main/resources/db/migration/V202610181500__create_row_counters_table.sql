@@ -0,0 +1,15 @@
+-- Contadores de linhas mantidos na transação de cada escrita, para contagens sem varrer as tabelas.
+-- Lançamentos são contados por (type, paid); categorias usam uma única linha com type = '' e paid = false.
+CREATE TABLE row_counters (
+    table_name VARCHAR(50) NOT NULL,
+    type VARCHAR(20) NOT NULL DEFAULT '',
+    paid BOOLEAN NOT NULL DEFAULT false,
+    row_count BIGINT NOT NULL,
+    CONSTRAINT row_counters_pkey PRIMARY KEY (table_name, type, paid)
+);
+
+INSERT INTO row_counters (table_name, type, paid, row_count)
+SELECT 'entries', type, paid, COUNT(*) FROM entries GROUP BY type, paid;
+
+INSERT INTO row_counters (table_name, row_count)
+SELECT 'categories', COUNT(*) FROM categories;
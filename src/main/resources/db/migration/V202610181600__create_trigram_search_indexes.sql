@@ -0,0 +1,10 @@
+-- Busca por trechos e por semelhança em nome e descrição (GET /entries/search e /categories/search).
+-- Índices GIN de trigramas atendem ILIKE '%termo%' e o operador de semelhança de palavras <%,
+-- que um btree não consegue usar com curinga no início.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_entry_name_trgm ON public.entries USING gin (name gin_trgm_ops);
+CREATE INDEX idx_entry_description_trgm ON public.entries USING gin (description gin_trgm_ops);
+
+CREATE INDEX idx_category_name_trgm ON public.categories USING gin (name gin_trgm_ops);
+CREATE INDEX idx_category_description_trgm ON public.categories USING gin (description gin_trgm_ops);
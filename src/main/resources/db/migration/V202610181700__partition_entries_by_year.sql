@@ -0,0 +1,95 @@
+-- Particionamento de entries por intervalo de data, uma partição por ano.
+-- Consultas por período (findByDateBetween, totais por intervalo, vencimentos, cursor por data)
+-- passam a ler só as partições do intervalo, e anos antigos podem ser desanexados ou
+-- removidos inteiros. A tabela é reescrita: em bases grandes, rode fora do horário de uso.
+--
+-- O Postgres exige a coluna de partição na chave primária, que passa a ser (id, date).
+-- O id continua vindo da mesma sequence e segue único; o mapeamento JPA (@Id id) não muda.
+-- Datas fora das partições existentes vão para entries_default até que a partição do ano
+-- seja criada por ensure_entries_partitions, que move essas linhas para a partição nova.
+
+-- A sequence dos ids é preservada e passa para a nova tabela
+ALTER SEQUENCE public.entries_id_seq OWNED BY NONE;
+
+ALTER TABLE public.entries RENAME TO entries_old;
+ALTER TABLE public.entries_old RENAME CONSTRAINT entries_pkey TO entries_old_pkey;
+ALTER TABLE public.entries_old RENAME CONSTRAINT entries_categories_fkey TO entries_old_categories_fkey;
+
+CREATE TABLE public.entries (
+	id int8 NOT NULL DEFAULT nextval('public.entries_id_seq'),
+	"name" varchar(200) NOT NULL,
+	description varchar(1000) NULL,
+	amount numeric(12, 2) NOT NULL,
+	category_id int8 NOT NULL,
+	"date" date NOT NULL,
+	"type" varchar(20) NOT NULL,
+	paid bool NOT NULL,
+	created_at timestamp(6) NOT NULL,
+	updated_at timestamp(6) NULL
+) PARTITION BY RANGE ("date");
+
+ALTER SEQUENCE public.entries_id_seq OWNED BY public.entries.id;
+
+CREATE TABLE public.entries_default PARTITION OF public.entries DEFAULT;
+
+-- Cria as partições anuais que faltam no intervalo [from_year, to_year] e retorna quantas criou
+CREATE OR REPLACE FUNCTION public.ensure_entries_partitions(from_year int, to_year int) RETURNS int AS $$
+DECLARE
+	partition_year int;
+	partition_name text;
+	range_start date;
+	range_end date;
+	created int := 0;
+BEGIN
+	FOR partition_year IN from_year..to_year LOOP
+
+		partition_name := 'entries_' || partition_year;
+		range_start := make_date(partition_year, 1, 1);
+		range_end := make_date(partition_year + 1, 1, 1);
+
+		IF to_regclass('public.' || partition_name) IS NULL THEN
+
+			EXECUTE format('CREATE TABLE public.%I (LIKE public.entries)', partition_name);
+
+			-- Linhas do ano que caíram na partição padrão passam para a nova partição antes de anexá-la
+			EXECUTE format('WITH moved AS (DELETE FROM public.entries_default WHERE "date" >= %L AND "date" < %L RETURNING *) '
+					|| 'INSERT INTO public.%I SELECT * FROM moved', range_start, range_end, partition_name);
+
+			-- Os índices da tabela principal são criados na partição ao anexar
+			EXECUTE format('ALTER TABLE public.entries ATTACH PARTITION public.%I FOR VALUES FROM (%L) TO (%L)',
+					partition_name, range_start, range_end);
+
+			created := created + 1;
+		END IF;
+	END LOOP;
+
+	RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições dos anos com lançamentos (até 10 anos atrás) e dos dois próximos anos
+SELECT public.ensure_entries_partitions(
+	GREATEST(COALESCE(EXTRACT(YEAR FROM (SELECT min("date") FROM public.entries_old))::int, EXTRACT(YEAR FROM current_date)::int),
+			EXTRACT(YEAR FROM current_date)::int - 10),
+	EXTRACT(YEAR FROM current_date)::int + 2);
+
+INSERT INTO public.entries (id, "name", description, amount, category_id, "date", "type", paid, created_at, updated_at)
+SELECT id, "name", description, amount, category_id, "date", "type", paid, created_at, updated_at
+FROM public.entries_old;
+
+DROP TABLE public.entries_old;
+
+-- Chave, restrições e índices criados depois da carga, já particionados
+ALTER TABLE public.entries ADD CONSTRAINT entries_pkey PRIMARY KEY (id, "date");
+ALTER TABLE public.entries ADD CONSTRAINT entries_categories_fkey FOREIGN KEY (category_id) REFERENCES public.categories(id);
+
+CREATE INDEX idx_entry_category ON public.entries USING btree (category_id);
+CREATE INDEX idx_entry_date ON public.entries USING btree (date);
+CREATE INDEX idx_entry_date_id ON public.entries USING btree (date, id);
+CREATE INDEX idx_entry_paid ON public.entries USING btree (paid);
+CREATE INDEX idx_entry_type ON public.entries USING btree (type);
+CREATE INDEX idx_entry_unpaid_date ON public.entries USING btree (date) WHERE paid = false;
+CREATE INDEX idx_entry_name_trgm ON public.entries USING gin (name gin_trgm_ops);
+CREATE INDEX idx_entry_description_trgm ON public.entries USING gin (description gin_trgm_ops);
+
+ANALYZE public.entries;
@@ -0,0 +1,93 @@
+-- Lançamentos e categorias passam a pertencer a um usuário (user_id) e toda consulta filtra
+-- pelo usuário autenticado. Os índices começam por user_id, então cada consulta lê só a faixa
+-- do usuário e o custo não cresce com a quantidade de usuários.
+--
+-- Dados existentes ficam com o primeiro administrador (ou o primeiro usuário, se não houver).
+-- Pré-requisito: havendo categorias ou lançamentos, ao menos um usuário deve estar cadastrado;
+-- caso contrário a migração é interrompida antes de qualquer alteração, com mensagem explicando
+-- o motivo (cadastre o usuário que receberá os dados e execute novamente).
+
+DO $$
+BEGIN
+	IF NOT EXISTS (SELECT 1 FROM public.users)
+			AND (EXISTS (SELECT 1 FROM public.categories) OR EXISTS (SELECT 1 FROM public.entries)) THEN
+		RAISE EXCEPTION 'Não há usuário para receber as categorias e lançamentos existentes'
+			USING HINT = 'Cadastre um usuário (de preferência administrador) antes de aplicar esta migração.';
+	END IF;
+END $$;
+
+-- Categorias
+ALTER TABLE public.categories ADD COLUMN user_id int8;
+
+UPDATE public.categories
+SET user_id = (SELECT COALESCE(min(id) FILTER (WHERE "role" = 'ADMIN'), min(id)) FROM public.users);
+
+ALTER TABLE public.categories ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE public.categories ADD CONSTRAINT categories_users_fkey FOREIGN KEY (user_id) REFERENCES public.users(id);
+
+-- Alvo da chave estrangeira composta de entries: o lançamento só referencia categoria do mesmo usuário
+ALTER TABLE public.categories ADD CONSTRAINT categories_user_id_id_key UNIQUE (user_id, id);
+
+DROP INDEX public.idx_category_name;
+CREATE INDEX idx_category_user_name ON public.categories USING btree (user_id, "name");
+
+-- Lançamentos (a coluna e os índices são propagados para todas as partições)
+ALTER TABLE public.entries ADD COLUMN user_id int8;
+
+UPDATE public.entries e
+SET user_id = c.user_id
+FROM public.categories c
+WHERE c.id = e.category_id;
+
+ALTER TABLE public.entries ALTER COLUMN user_id SET NOT NULL;
+
+-- A verificação da chave estrangeira passa a usar o índice (user_id, category_id)
+ALTER TABLE public.entries DROP CONSTRAINT entries_categories_fkey;
+ALTER TABLE public.entries ADD CONSTRAINT entries_categories_fkey FOREIGN KEY (user_id, category_id) REFERENCES public.categories(user_id, id);
+
+-- (user_id, date, id) atende intervalos de data e a paginação por cursor do usuário
+CREATE INDEX idx_entry_user_date ON public.entries USING btree (user_id, "date", id);
+CREATE INDEX idx_entry_user_category ON public.entries USING btree (user_id, category_id);
+CREATE INDEX idx_entry_user_unpaid_date ON public.entries USING btree (user_id, "date") WHERE paid = false;
+
+DROP INDEX public.idx_entry_date;
+DROP INDEX public.idx_entry_date_id;
+DROP INDEX public.idx_entry_category;
+DROP INDEX public.idx_entry_unpaid_date;
+
+-- Totais mensais por usuário
+ALTER TABLE public.entry_monthly_totals ADD COLUMN user_id int8;
+
+UPDATE public.entry_monthly_totals t
+SET user_id = c.user_id
+FROM public.categories c
+WHERE c.id = t.category_id;
+
+DELETE FROM public.entry_monthly_totals WHERE user_id IS NULL;
+
+ALTER TABLE public.entry_monthly_totals ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE public.entry_monthly_totals DROP CONSTRAINT entry_monthly_totals_pkey;
+ALTER TABLE public.entry_monthly_totals ADD CONSTRAINT entry_monthly_totals_pkey PRIMARY KEY (user_id, "month", category_id, "type", paid);
+
+-- Contadores por usuário, recalculados a partir das tabelas
+DELETE FROM public.row_counters;
+
+ALTER TABLE public.row_counters ADD COLUMN user_id int8 NOT NULL;
+ALTER TABLE public.row_counters DROP CONSTRAINT row_counters_pkey;
+ALTER TABLE public.row_counters ADD CONSTRAINT row_counters_pkey PRIMARY KEY (user_id, table_name, "type", paid);
+
+INSERT INTO public.row_counters (user_id, table_name, "type", paid, row_count)
+SELECT user_id, 'entries', "type", paid, COUNT(*) FROM public.entries GROUP BY user_id, "type", paid;
+
+INSERT INTO public.row_counters (user_id, table_name, row_count)
+SELECT user_id, 'categories', COUNT(*) FROM public.categories GROUP BY user_id;
+
+-- Versões por usuário, criadas na primeira escrita de cada conjunto
+DELETE FROM public.data_versions;
+
+ALTER TABLE public.data_versions ADD COLUMN user_id int8 NOT NULL;
+ALTER TABLE public.data_versions DROP CONSTRAINT data_versions_pkey;
+ALTER TABLE public.data_versions ADD CONSTRAINT data_versions_pkey PRIMARY KEY (user_id, "name");
+
+ANALYZE public.categories;
+ANALYZE public.entries;
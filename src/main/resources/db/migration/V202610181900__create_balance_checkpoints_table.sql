@@ -0,0 +1,15 @@
+-- Saldo acumulado de cada usuário no fim de cada mês fechado (receitas menos despesas desde o
+-- primeiro lançamento). paid_balance considera só lançamentos pagos; projected_balance inclui
+-- também os não pagos. A série de saldos parte do checkpoint anterior ao período e soma só os
+-- lançamentos depois dele, sem percorrer o histórico inteiro.
+--
+-- Os checkpoints são criados sob demanda a partir de entry_monthly_totals. Uma escrita em um
+-- mês já fechado remove, na mesma transação, os checkpoints daquele mês em diante.
+CREATE TABLE public.balance_checkpoints (
+	user_id int8 NOT NULL,
+	"month" date NOT NULL,
+	paid_balance numeric(16, 2) NOT NULL,
+	projected_balance numeric(16, 2) NOT NULL,
+	CONSTRAINT balance_checkpoints_pkey PRIMARY KEY (user_id, "month"),
+	CONSTRAINT balance_checkpoints_users_fkey FOREIGN KEY (user_id) REFERENCES public.users(id)
+);
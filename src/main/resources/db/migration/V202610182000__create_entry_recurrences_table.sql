@@ -0,0 +1,39 @@
+-- Séries de lançamentos (contas mensais, semanais e parcelamentos) guardadas uma única vez.
+-- As ocorrências são materializadas em entries até um horizonte à frente, então as consultas
+-- por período, de vencimentos e as agregações as enxergam como lançamentos comuns.
+--
+-- next_occurrence/next_date indicam a próxima ocorrência ainda não criada; next_date nulo
+-- indica série encerrada (todas as parcelas criadas).
+CREATE TABLE public.entry_recurrences (
+	id bigserial NOT NULL,
+	user_id int8 NOT NULL,
+	"name" varchar(200) NOT NULL,
+	description varchar(1000) NULL,
+	"type" varchar(20) NOT NULL,
+	amount numeric(12, 2) NOT NULL,
+	category_id int8 NOT NULL,
+	frequency varchar(20) NOT NULL,
+	start_date date NOT NULL,
+	installments int4 NULL,
+	next_occurrence int4 NOT NULL,
+	next_date date NULL,
+	created_at timestamp(6) NOT NULL,
+	updated_at timestamp(6) NULL,
+	CONSTRAINT entry_recurrences_pkey PRIMARY KEY (id),
+	CONSTRAINT entry_recurrences_categories_fkey FOREIGN KEY (user_id, category_id) REFERENCES public.categories(user_id, id),
+	CONSTRAINT entry_recurrences_frequency_check CHECK (frequency IN ('monthly', 'weekly')),
+	CONSTRAINT entry_recurrences_installments_check CHECK (installments IS NULL OR installments > 0)
+);
+
+CREATE INDEX idx_entry_recurrence_user_category ON public.entry_recurrences USING btree (user_id, category_id);
+
+-- Séries com ocorrências pendentes, lidas pelo job de materialização
+CREATE INDEX idx_entry_recurrence_next_date ON public.entry_recurrences USING btree (next_date, id) WHERE next_date IS NOT NULL;
+
+-- Ocorrência de origem do lançamento; excluir a série mantém os lançamentos já criados
+ALTER TABLE public.entries ADD COLUMN recurrence_id int8 NULL;
+ALTER TABLE public.entries ADD COLUMN occurrence int4 NULL;
+ALTER TABLE public.entries ADD CONSTRAINT entries_recurrences_fkey FOREIGN KEY (recurrence_id) REFERENCES public.entry_recurrences(id) ON DELETE SET NULL;
+
+-- Atualização e exclusão das ocorrências futuras de uma série
+CREATE INDEX idx_entry_recurrence_date ON public.entries USING btree (recurrence_id, "date") WHERE recurrence_id IS NOT NULL;
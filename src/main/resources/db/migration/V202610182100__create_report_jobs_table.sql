@@ -0,0 +1,30 @@
+-- Relatórios gerados em segundo plano. O resultado fica guardado até expires_at e é reaproveitado
+-- por pedidos com os mesmos parâmetros enquanto a versão dos dados do usuário (data_version,
+-- no formato da ETag) não mudar.
+CREATE TABLE public.report_jobs (
+	id uuid NOT NULL,
+	user_id int8 NOT NULL,
+	report_type varchar(50) NOT NULL,
+	from_date date NOT NULL,
+	to_date date NOT NULL,
+	data_version varchar(50) NOT NULL,
+	status varchar(20) NOT NULL,
+	"result" json NULL,
+	error varchar(500) NULL,
+	created_at timestamp(6) NOT NULL,
+	started_at timestamp(6) NULL,
+	finished_at timestamp(6) NULL,
+	expires_at timestamp(6) NULL,
+	CONSTRAINT report_jobs_pkey PRIMARY KEY (id),
+	CONSTRAINT report_jobs_users_fkey FOREIGN KEY (user_id) REFERENCES public.users(id),
+	CONSTRAINT report_jobs_status_check CHECK (status IN ('pending', 'running', 'done', 'failed'))
+);
+
+-- Busca de um resultado reaproveitável
+CREATE INDEX idx_report_job_user_params ON public.report_jobs USING btree (user_id, report_type, from_date, to_date, data_version);
+
+-- Limite de relatórios em andamento por usuário
+CREATE INDEX idx_report_job_user_active ON public.report_jobs USING btree (user_id) WHERE status IN ('pending', 'running');
+
+-- Limpeza dos resultados expirados
+CREATE INDEX idx_report_job_expires_at ON public.report_jobs USING btree (expires_at) WHERE expires_at IS NOT NULL;
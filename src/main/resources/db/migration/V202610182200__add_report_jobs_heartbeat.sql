@@ -0,0 +1,10 @@
+-- Instância que executa cada relatório (owner) e o último sinal de vida dela (heartbeat_at).
+-- Pedidos pendentes ou em execução sem sinal recente pertencem a uma instância que parou e
+-- são marcados como falha por qualquer outra; os das instâncias ativas não são afetados.
+ALTER TABLE public.report_jobs ADD COLUMN "owner" varchar(100) NULL;
+ALTER TABLE public.report_jobs ADD COLUMN heartbeat_at timestamp(6) NULL;
+
+UPDATE public.report_jobs SET heartbeat_at = created_at WHERE status IN ('pending', 'running');
+
+-- Busca dos pedidos sem sinal recente
+CREATE INDEX idx_report_job_heartbeat ON public.report_jobs USING btree (heartbeat_at) WHERE status IN ('pending', 'running');
@@ -0,0 +1,125 @@
+package com.finansys.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.finansys.backend.cache.UserStatusCache;
+import com.finansys.backend.cache.UserStatusCache.UserStatus;
+import com.finansys.backend.entity.User;
+import com.finansys.backend.service.EntryAggregateService;
+import com.finansys.backend.service.JwtService;
+import com.finansys.backend.service.RowCounterService;
+import com.finansys.backend.service.UserService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Garante que os endpoints administrativos recusam tokens de usuários comuns com 403,
+ * passando pelo filtro JWT e pela configuração de segurança reais, e que uma reconciliação
+ * de contadores já em andamento resulta em 409.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+	private static final Long USER_ID = 1L;
+
+	private static final Long ADMIN_ID = 2L;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@MockitoBean
+	private UserStatusCache userStatusCache;
+
+	@MockitoBean
+	private UserService userService;
+
+	@MockitoBean
+	private EntryAggregateService entryAggregateService;
+
+	@MockitoBean
+	private RowCounterService rowCounterService;
+
+	@BeforeEach
+	void setUp() {
+
+		when(userStatusCache.findById(any())).thenReturn(Optional.of(new UserStatus(true, true, true, true)));
+	}
+
+	@Test
+	void updateUserStatusRejectsUserRole() throws Exception {
+
+		mockMvc.perform(patch("/api/admin/users/{id}/status", ADMIN_ID).param("enabled", "false").cookie(token(USER_ID, User.Role.USER)))
+				.andExpect(status().isForbidden());
+
+		verify(userService, never()).updateUserStatus(any(), any(Boolean.class));
+	}
+
+	@Test
+	void updateUserStatusAllowsAdminRole() throws Exception {
+
+		mockMvc.perform(patch("/api/admin/users/{id}/status", USER_ID).param("enabled", "false").cookie(token(ADMIN_ID, User.Role.ADMIN)))
+				.andExpect(status().isOk());
+
+		verify(userService).updateUserStatus(USER_ID, false);
+	}
+
+	@Test
+	void rebuildAggregatesRejectsUserRole() throws Exception {
+
+		mockMvc.perform(post("/api/admin/aggregates/rebuild").cookie(token(USER_ID, User.Role.USER)))
+				.andExpect(status().isForbidden());
+
+		verify(entryAggregateService, never()).rebuildMonthlyTotals();
+	}
+
+	@Test
+	void reconcileCountersRejectsUserRole() throws Exception {
+
+		mockMvc.perform(post("/api/admin/counters/reconcile").cookie(token(USER_ID, User.Role.USER)))
+				.andExpect(status().isForbidden());
+
+		verify(rowCounterService, never()).reconcile();
+	}
+
+	@Test
+	void reconcileCountersReturnsConflictWhenAlreadyRunning() throws Exception {
+
+		when(rowCounterService.reconcile()).thenReturn(OptionalInt.empty());
+
+		mockMvc.perform(post("/api/admin/counters/reconcile").cookie(token(ADMIN_ID, User.Role.ADMIN)))
+				.andExpect(status().isConflict());
+	}
+
+	private Cookie token(Long id, User.Role role) {
+
+		User user = User.builder()
+				.id(id)
+				.name("Usuário " + id)
+				.email("usuario" + id + "@finansys.com")
+				.role(role)
+				.build();
+
+		return new Cookie("token", jwtService.generateTokenWithUserInfo(user, id, user.getEmail()));
+	}
+}
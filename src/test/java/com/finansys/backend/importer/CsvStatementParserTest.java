@@ -0,0 +1,161 @@
+package com.finansys.backend.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+
+/**
+ * Leitura de CSV: campos entre aspas, codificações aceitas e linhas inválidas, que viram
+ * erros com o número da linha sem interromper a leitura das demais.
+ */
+class CsvStatementParserTest {
+
+	private static final Long DEFAULT_CATEGORY_ID = 7L;
+
+	@Test
+	void parsesQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				name;description;type;amount;date;paid;categoryId\r
+				"Aluguel; apto 12";"Contrato ""novo""\";expense;1.500,00;05/10/2026;sim;3\r
+				"Mercado";"linha 1
+				linha 2";expense;-89,90;2026-10-06;;\r
+				Salário;;revenue;5000.00;2026-10-07;não;3\r
+				""", StandardCharsets.UTF_8);
+
+		assertEquals(3, rows.size());
+
+		EntryRequestDTO rent = rows.get(0).entry();
+
+		assertEquals("Aluguel; apto 12", rent.name());
+		assertEquals("Contrato \"novo\"", rent.description());
+		assertEquals(new BigDecimal("1500.00"), rent.amount());
+		assertEquals(LocalDate.of(2026, 10, 5), rent.date());
+		assertEquals(true, rent.paid());
+		assertEquals(3L, rent.categoryId());
+
+		EntryRequestDTO groceries = rows.get(1).entry();
+
+		assertEquals("linha 1\nlinha 2", groceries.description());
+		assertEquals("expense", groceries.type());
+		assertEquals(new BigDecimal("89.90"), groceries.amount());
+		assertNull(groceries.paid());
+		assertEquals(DEFAULT_CATEGORY_ID, groceries.categoryId());
+
+		// O registro anterior ocupa duas linhas do arquivo
+		assertEquals(2, rows.get(0).row());
+		assertEquals(3, rows.get(1).row());
+		assertEquals(5, rows.get(2).row());
+		assertNull(rows.get(2).entry().description());
+		assertEquals(false, rows.get(2).entry().paid());
+	}
+
+	@Test
+	void usesAmountSignWhenTypeIsMissing() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				description;amount;date
+				Tarifa;-12,50;01/10/2026
+				Estorno;12,50;02/10/2026
+				""", StandardCharsets.UTF_8);
+
+		assertEquals("Tarifa", rows.get(0).entry().name());
+		assertEquals("Tarifa", rows.get(0).entry().description());
+		assertEquals("expense", rows.get(0).entry().type());
+		assertEquals("revenue", rows.get(1).entry().type());
+	}
+
+	@Test
+	void readsUtf8WithBom() throws IOException {
+
+		byte[] content = ("﻿name;amount;date\nPadaria São João;10,00;01/10/2026\n").getBytes(StandardCharsets.UTF_8);
+
+		List<StatementRow> rows = parse(content);
+
+		assertEquals("Padaria São João", rows.get(0).entry().name());
+	}
+
+	@Test
+	void readsWindows1252() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				name;amount;date
+				Açougue Conceição – €;10,00;01/10/2026
+				""", Charset.forName("windows-1252"));
+
+		assertEquals("Açougue Conceição – €", rows.get(0).entry().name());
+	}
+
+	@Test
+	void reportsMalformedRowsAndKeepsReading() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				name;amount;date;paid;categoryId
+				Valor;abc;01/10/2026;;
+				Data;10,00;31/02/2026;;
+				Sem valor;;01/10/2026;;
+				Pago;10,00;01/10/2026;talvez;
+
+				Categoria;10,00;01/10/2026;;x
+				Curta;10,00
+				Certa;10,00;01/10/2026;;
+				""", StandardCharsets.UTF_8);
+
+		assertEquals(7, rows.size());
+
+		assertEquals("Valor inválido: abc", rows.get(0).error());
+		assertEquals("Data inválida: 31/02/2026", rows.get(1).error());
+		assertEquals("Valor é obrigatório", rows.get(2).error());
+		assertEquals("Status de pagamento inválido: talvez", rows.get(3).error());
+		assertEquals("ID da categoria inválido: x", rows.get(4).error());
+		assertEquals("Data é obrigatória", rows.get(5).error());
+
+		// A linha em branco é ignorada, mas conta na numeração
+		assertEquals(7, rows.get(4).row());
+		assertEquals(9, rows.get(6).row());
+		assertNull(rows.get(6).error());
+		assertEquals("Certa", rows.get(6).entry().name());
+	}
+
+	@Test
+	void rejectsHeaderWithoutRequiredColumns() {
+
+		assertThrows(IllegalArgumentException.class, () -> parse("name;amount\nAluguel;10,00\n", StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void unterminatedQuoteConsumesRestOfFile() throws IOException {
+
+		List<StatementRow> rows = parse("name;amount;date\n\"Sem fim;10,00;01/10/2026\nOutra;5,00;02/10/2026\n", StandardCharsets.UTF_8);
+
+		assertEquals(1, rows.size());
+		assertEquals("Valor é obrigatório", rows.get(0).error());
+	}
+
+	private List<StatementRow> parse(String content, Charset charset) throws IOException {
+
+		return parse(content.getBytes(charset));
+	}
+
+	private List<StatementRow> parse(byte[] content) throws IOException {
+
+		List<StatementRow> rows = new ArrayList<>();
+
+		new CsvStatementParser().parse(new ByteArrayInputStream(content), DEFAULT_CATEGORY_ID, rows::add);
+
+		return rows;
+	}
+}
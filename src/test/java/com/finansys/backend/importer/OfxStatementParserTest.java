@@ -0,0 +1,142 @@
+package com.finansys.backend.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+
+/**
+ * Leitura de OFX nos formatos SGML (1.x, tags sem fechamento) e XML (2.x), com a
+ * codificação declarada no cabeçalho e transações inválidas reportadas pelo número.
+ */
+class OfxStatementParserTest {
+
+	private static final Long DEFAULT_CATEGORY_ID = 7L;
+
+	@Test
+	void parsesSgmlStatementInWindows1252() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				OFXHEADER:100
+				DATA:OFXSGML
+				VERSION:102
+				ENCODING:USASCII
+				CHARSET:1252
+
+				<OFX>
+				<BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+				<STMTTRN>
+				<TRNTYPE>DEBIT
+				<DTPOSTED>20261005120000[-3:BRT]
+				<TRNAMT>-150,75
+				<NAME>Farmácia São José
+				<MEMO>Cartão final 1234
+				</STMTTRN>
+				<STMTTRN>
+				<TRNTYPE>CREDIT
+				<DTPOSTED>20261006
+				<TRNAMT>2500.00
+				<MEMO>Transferência recebida
+				</STMTTRN>
+				</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1>
+				</OFX>
+				""", Charset.forName("windows-1252"));
+
+		assertEquals(2, rows.size());
+
+		EntryRequestDTO debit = rows.get(0).entry();
+
+		assertEquals("Farmácia São José", debit.name());
+		assertEquals("Cartão final 1234", debit.description());
+		assertEquals("expense", debit.type());
+		assertEquals(new BigDecimal("150.75"), debit.amount());
+		assertEquals(LocalDate.of(2026, 10, 5), debit.date());
+		assertEquals(true, debit.paid());
+		assertEquals(DEFAULT_CATEGORY_ID, debit.categoryId());
+
+		// Sem NAME, o MEMO vira o nome
+		EntryRequestDTO credit = rows.get(1).entry();
+
+		assertEquals("Transferência recebida", credit.name());
+		assertNull(credit.description());
+		assertEquals("revenue", credit.type());
+	}
+
+	@Test
+	void parsesXmlStatementInUtf8() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				<?xml version="1.0" encoding="UTF-8" standalone="no"?>
+				<?OFX OFXHEADER="200" VERSION="220" SECURITY="NONE" OLDFILEUID="NONE" NEWFILEUID="NONE"?>
+				<OFX>
+				  <BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+				    <STMTTRN>
+				      <TRNTYPE>DEBIT</TRNTYPE>
+				      <DTPOSTED>20261007</DTPOSTED>
+				      <TRNAMT>-42.00</TRNAMT>
+				      <NAME>Pão &amp; Café</NAME>
+				      <MEMO>Conceição &lt;centro&gt;</MEMO>
+				    </STMTTRN>
+				  </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1>
+				</OFX>
+				""", StandardCharsets.UTF_8);
+
+		assertEquals(1, rows.size());
+		assertEquals("Pão & Café", rows.get(0).entry().name());
+		assertEquals("Conceição <centro>", rows.get(0).entry().description());
+		assertEquals(LocalDate.of(2026, 10, 7), rows.get(0).entry().date());
+	}
+
+	@Test
+	void xmlWithoutEncodingDeclarationIsUtf8() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				<?xml version="1.0"?>
+				<OFX><STMTTRN><DTPOSTED>20261007</DTPOSTED><TRNAMT>-1.00</TRNAMT><NAME>Estação</NAME></STMTTRN></OFX>
+				""", StandardCharsets.UTF_8);
+
+		assertEquals("Estação", rows.get(0).entry().name());
+	}
+
+	@Test
+	void reportsMalformedTransactionsAndKeepsReading() throws IOException {
+
+		List<StatementRow> rows = parse("""
+				<OFX>
+				<STMTTRN><TRNAMT>-10.00<NAME>Sem data</STMTTRN>
+				<STMTTRN><DTPOSTED>2026<TRNAMT>-10.00<NAME>Data curta</STMTTRN>
+				<STMTTRN><DTPOSTED>20261007<TRNAMT>dez<NAME>Valor</STMTTRN>
+				<STMTTRN><DTPOSTED>20260231<TRNAMT>-10.00<NAME>Dia inexistente</STMTTRN>
+				<STMTTRN><DTPOSTED>20261007<TRNAMT>-10.00<NAME>Certa</STMTTRN>
+				</OFX>
+				""", StandardCharsets.ISO_8859_1);
+
+		assertEquals(5, rows.size());
+		assertEquals("Data inválida: null", rows.get(0).error());
+		assertEquals("Data inválida: 2026", rows.get(1).error());
+		assertEquals("Valor inválido: dez", rows.get(2).error());
+		assertEquals("Data inválida: 20260231", rows.get(3).error());
+		assertEquals(5, rows.get(4).row());
+		assertEquals("Certa", rows.get(4).entry().name());
+	}
+
+	private List<StatementRow> parse(String content, Charset charset) throws IOException {
+
+		List<StatementRow> rows = new ArrayList<>();
+
+		new OfxStatementParser().parse(new ByteArrayInputStream(content.getBytes(charset)), DEFAULT_CATEGORY_ID, rows::add);
+
+		return rows;
+	}
+}
@@ -0,0 +1,188 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.BalancePointDTO;
+import com.finansys.backend.dto.response.BalanceSeriesResponseDTO;
+import com.finansys.backend.entity.Category;
+import com.finansys.backend.entity.User;
+import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.repository.UserRepository;
+import com.finansys.backend.security.CurrentUser;
+
+/**
+ * Saldo diário contra o banco real: abertura a partir do checkpoint do mês anterior ao
+ * período mais o mês parcial, remoção dos checkpoints quando um mês fechado é alterado e
+ * usuário sem histórico. Os lançamentos são criados pelo EntryService, que mantém os
+ * totais mensais e os checkpoints como em produção. Cada teste roda em uma transação
+ * desfeita ao final.
+ */
+@SpringBootTest
+@Transactional
+class BalanceServiceTest {
+
+	// Quatro meses fechados antes do mês atual
+	private static final LocalDate CURRENT_MONTH = LocalDate.now().withDayOfMonth(1);
+
+	private static final LocalDate MONTH_4 = CURRENT_MONTH.minusMonths(4);
+
+	private static final LocalDate MONTH_3 = CURRENT_MONTH.minusMonths(3);
+
+	private static final LocalDate MONTH_2 = CURRENT_MONTH.minusMonths(2);
+
+	private static final LocalDate MONTH_1 = CURRENT_MONTH.minusMonths(1);
+
+	@Autowired
+	private BalanceService balanceService;
+
+	@Autowired
+	private EntryService entryService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private CurrentUser currentUser;
+
+	private Long userId;
+
+	private Long categoryId;
+
+	@BeforeEach
+	void setUp() {
+
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+		userId = userRepository.save(User.builder()
+				.name("saldo-" + suffix)
+				.email("saldo-" + suffix + "@finansys.com")
+				.password("$2a$10$" + "x".repeat(53))
+				.role(User.Role.USER)
+				.enabled(true)
+				.accountNonExpired(true)
+				.accountNonLocked(true)
+				.credentialsNonExpired(true)
+				.build()).getId();
+
+		categoryId = categoryRepository.save(Category.builder().name("Geral").userId(userId).build()).getId();
+
+		when(currentUser.getId()).thenReturn(userId);
+	}
+
+	@Test
+	void openingBalanceUsesCheckpointPlusPartialMonth() {
+
+		createHistory();
+
+		BalanceSeriesResponseDTO series = balanceService.getSeries(MONTH_1.withDayOfMonth(15), MONTH_1.withDayOfMonth(25));
+
+		// Checkpoints criados até o mês anterior ao do período
+		assertEquals(List.of(MONTH_4, MONTH_3, MONTH_2), checkpointMonths());
+		assertEquals(new BigDecimal("800.00"), checkpointPaid(MONTH_2));
+
+		// 1000 - 200 + 300 pagos; os não pagos (-50 e -40) entram só no projetado
+		assertEquals(new BigDecimal("1100.00"), series.openingBalance());
+		assertEquals(new BigDecimal("1010.00"), series.openingProjectedBalance());
+
+		assertEquals(11, series.points().size());
+		assertPoint(series.points().get(4), MONTH_1.withDayOfMonth(19), "1100.00", "1010.00");
+		assertPoint(series.points().get(5), MONTH_1.withDayOfMonth(20), "1000.00", "910.00");
+		assertPoint(series.points().get(10), MONTH_1.withDayOfMonth(25), "1000.00", "910.00");
+
+		// A abertura parte do checkpoint, e não da soma de todo o histórico
+		jdbcTemplate.update("UPDATE balance_checkpoints SET paid_balance = paid_balance + 1000 WHERE user_id = ? AND month = ?", userId, MONTH_2);
+
+		assertEquals(new BigDecimal("2100.00"), balanceService.getSeries(MONTH_1.withDayOfMonth(15), MONTH_1.withDayOfMonth(25)).openingBalance());
+	}
+
+	@Test
+	void writeInClosedMonthDeletesLaterCheckpoints() {
+
+		createHistory();
+
+		balanceService.getSeries(MONTH_1.withDayOfMonth(15), MONTH_1.withDayOfMonth(25));
+
+		assertEquals(List.of(MONTH_4, MONTH_3, MONTH_2), checkpointMonths());
+
+		createEntry("revenue", "500.00", MONTH_3.withDayOfMonth(25), true);
+
+		// O mês alterado e os seguintes são descartados; os anteriores continuam válidos
+		assertEquals(List.of(MONTH_4), checkpointMonths());
+
+		BalanceSeriesResponseDTO series = balanceService.getSeries(MONTH_1.withDayOfMonth(15), MONTH_1.withDayOfMonth(25));
+
+		assertEquals(new BigDecimal("1600.00"), series.openingBalance());
+		assertEquals(new BigDecimal("1510.00"), series.openingProjectedBalance());
+		assertEquals(List.of(MONTH_4, MONTH_3, MONTH_2), checkpointMonths());
+		assertEquals(new BigDecimal("1300.00"), checkpointPaid(MONTH_2));
+	}
+
+	@Test
+	void userWithoutHistoryHasZeroBalance() {
+
+		BalanceSeriesResponseDTO series = balanceService.getSeries(MONTH_2, MONTH_1.minusDays(1));
+
+		assertEquals(0, series.openingBalance().signum());
+		assertEquals(0, series.openingProjectedBalance().signum());
+		assertEquals(MONTH_2.lengthOfMonth(), series.points().size());
+		assertEquals(0, series.points().stream().filter(point -> point.balance().signum() != 0 || point.projectedBalance().signum() != 0).count());
+
+		// Sem lançamentos não há checkpoints a criar
+		assertEquals(List.of(), checkpointMonths());
+	}
+
+	private void createHistory() {
+
+		createEntry("revenue", "1000.00", MONTH_4.withDayOfMonth(10), true);
+		createEntry("expense", "200.00", MONTH_3.withDayOfMonth(5), true);
+		createEntry("expense", "50.00", MONTH_3.withDayOfMonth(20), false);
+
+		// Mês do período: dias 3 e 10 antes do início, dia 20 dentro dele
+		createEntry("revenue", "300.00", MONTH_1.withDayOfMonth(3), true);
+		createEntry("expense", "40.00", MONTH_1.withDayOfMonth(10), false);
+		createEntry("expense", "100.00", MONTH_1.withDayOfMonth(20), true);
+	}
+
+	private void createEntry(String type, String amount, LocalDate date, boolean paid) {
+
+		entryService.createEntry(new EntryRequestDTO("Lançamento", null, type, new BigDecimal(amount), date, paid, categoryId));
+	}
+
+	private List<LocalDate> checkpointMonths() {
+
+		return jdbcTemplate.queryForList("SELECT month FROM balance_checkpoints WHERE user_id = ? ORDER BY month", LocalDate.class, userId);
+	}
+
+	private BigDecimal checkpointPaid(LocalDate month) {
+
+		return jdbcTemplate.queryForObject("SELECT paid_balance FROM balance_checkpoints WHERE user_id = ? AND month = ?", BigDecimal.class, userId, month);
+	}
+
+	private void assertPoint(BalancePointDTO point, LocalDate date, String balance, String projectedBalance) {
+
+		assertEquals(date, point.date());
+		assertEquals(new BigDecimal(balance), point.balance());
+		assertEquals(new BigDecimal(projectedBalance), point.projectedBalance());
+	}
+}
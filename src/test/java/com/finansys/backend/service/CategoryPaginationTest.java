@@ -0,0 +1,43 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.repository.CategoryRepository;
+
+/**
+ * Listagem paginada e busca de categorias aplicam os mesmos limites de página das
+ * listagens de lançamentos: valores fora deles resultam em 400 sem consultar o banco.
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryPaginationTest {
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@InjectMocks
+	private CategoryService categoryService;
+
+	@Test
+	void pageOutsideLimitsIsBadRequest() {
+
+		BadRequestException negativePage = assertThrows(BadRequestException.class, () -> categoryService.searchCategories("mercado", -1, 20));
+
+		assertEquals("Número da página deve ser maior ou igual a zero", negativePage.getMessage());
+
+		assertThrows(BadRequestException.class, () -> categoryService.searchCategories("mercado", 0, 0));
+		assertThrows(BadRequestException.class, () -> categoryService.searchCategories("mercado", 0, 101));
+		assertThrows(BadRequestException.class, () -> categoryService.getAllCategoriesPaginated(-1, 10, "name", "asc"));
+		assertThrows(BadRequestException.class, () -> categoryService.getAllCategoriesPaginated(0, 100_000, "name", "asc"));
+
+		verifyNoInteractions(categoryRepository);
+	}
+}
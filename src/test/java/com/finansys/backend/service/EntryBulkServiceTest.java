@@ -0,0 +1,166 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.dto.request.EntryBulkRequestDTO;
+import com.finansys.backend.dto.request.EntryBulkUpdateDTO;
+import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.EntryBulkItemResultDTO;
+import com.finansys.backend.dto.response.EntryBulkResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.repository.EntryBatchRepository;
+import com.finansys.backend.repository.EntryBatchRepository.ChangedEntry;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.validation.Validator;
+
+/**
+ * Garante que cada lançamento alterado por uma requisição em lote entra uma única vez
+ * nas agregações, mesmo quando o mesmo ID aparece em mais de uma operação, e que só
+ * entram as linhas devolvidas pelo UPDATE e pelo DELETE.
+ */
+@ExtendWith(MockitoExtension.class)
+class EntryBulkServiceTest {
+
+	private static final Long USER_ID = 1L;
+
+	private static final Long ENTRY_ID = 10L;
+
+	private static final Long CATEGORY_ID = 3L;
+
+	@Mock
+	private EntryRepository entryRepository;
+
+	@Mock
+	private EntryBatchRepository entryBatchRepository;
+
+	@Mock
+	private CategoryCache categoryCache;
+
+	@Mock
+	private EntryChangeRecorder entryChangeRecorder;
+
+	@Mock
+	private Validator validator;
+
+	@Mock
+	private CurrentUser currentUser;
+
+	@InjectMocks
+	private EntryBulkService entryBulkService;
+
+	@Captor
+	private ArgumentCaptor<Collection<EntrySnapshot>> removedCaptor;
+
+	@Captor
+	private ArgumentCaptor<Collection<EntrySnapshot>> addedCaptor;
+
+	@Captor
+	private ArgumentCaptor<Collection<Long>> deletedIdsCaptor;
+
+	@BeforeEach
+	void setUp() {
+
+		when(currentUser.getId()).thenReturn(USER_ID);
+		when(validator.validate(any(EntryRequestDTO.class))).thenReturn(Set.of());
+		when(categoryCache.findNames(eq(USER_ID), anyCollection())).thenReturn(Map.of(CATEGORY_ID, "Moradia"));
+	}
+
+	@Test
+	void applyBulkRejectsDeleteOfUpdatedEntry() {
+
+		Entry original = Entry.builder()
+				.id(ENTRY_ID)
+				.userId(USER_ID)
+				.name("Aluguel")
+				.type("expense")
+				.amount(new BigDecimal("1500.00"))
+				.date(LocalDate.of(2026, 9, 5))
+				.paid(true)
+				.categoryId(CATEGORY_ID)
+				.build();
+
+		when(entryRepository.findForUpdateByUserIdAndIdInOrderById(eq(USER_ID), anyCollection())).thenReturn(List.of(original));
+
+		EntryRequestDTO changes = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1700.00"), LocalDate.of(2026, 10, 5), true, CATEGORY_ID);
+
+		when(entryBatchRepository.updateAll(eq(USER_ID), anyList())).thenReturn(List.of(new ChangedEntry(ENTRY_ID, changes.date(), CATEGORY_ID, "expense", true, changes.amount())));
+
+		EntryBulkResponseDTO response = entryBulkService.applyBulk(new EntryBulkRequestDTO(null, List.of(new EntryBulkUpdateDTO(ENTRY_ID, changes)), List.of(ENTRY_ID)));
+
+		assertEquals(1, response.succeeded());
+		assertEquals(1, response.failed());
+
+		EntryBulkItemResultDTO deleteResult = response.results().get(1);
+
+		assertEquals("delete", deleteResult.operation());
+		assertFalse(deleteResult.success());
+		assertTrue(response.results().get(0).success());
+
+		verify(entryBatchRepository).deleteAllById(eq(USER_ID), deletedIdsCaptor.capture());
+		assertTrue(deletedIdsCaptor.getValue().isEmpty());
+
+		// Estado original removido uma vez e o novo adicionado uma vez
+		verify(entryChangeRecorder).record(removedCaptor.capture(), addedCaptor.capture());
+		assertEquals(List.of(EntrySnapshot.of(original)), List.copyOf(removedCaptor.getValue()));
+		assertEquals(List.of(new EntrySnapshot(USER_ID, changes.date(), CATEGORY_ID, "expense", true, changes.amount())), List.copyOf(addedCaptor.getValue()));
+	}
+
+	@Test
+	void applyBulkIgnoresUpdateThatTouchedNoRow() {
+
+		Entry original = Entry.builder()
+				.id(ENTRY_ID)
+				.userId(USER_ID)
+				.name("Aluguel")
+				.type("expense")
+				.amount(new BigDecimal("1500.00"))
+				.date(LocalDate.of(2026, 9, 5))
+				.paid(false)
+				.categoryId(CATEGORY_ID)
+				.build();
+
+		when(entryRepository.findForUpdateByUserIdAndIdInOrderById(eq(USER_ID), anyCollection())).thenReturn(List.of(original));
+
+		// O UPDATE não devolve a linha (excluída antes do comando)
+		when(entryBatchRepository.updateAll(eq(USER_ID), anyList())).thenReturn(List.of());
+
+		EntryRequestDTO changes = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1700.00"), LocalDate.of(2026, 10, 5), true, CATEGORY_ID);
+
+		EntryBulkResponseDTO response = entryBulkService.applyBulk(new EntryBulkRequestDTO(null, List.of(new EntryBulkUpdateDTO(ENTRY_ID, changes)), null));
+
+		assertEquals(0, response.succeeded());
+		assertEquals("Lançamento não encontrado com ID: " + ENTRY_ID, response.results().get(0).message());
+
+		// Nada entra nas agregações
+		verify(entryChangeRecorder).record(removedCaptor.capture(), addedCaptor.capture());
+		assertTrue(removedCaptor.getValue().isEmpty());
+		assertTrue(addedCaptor.getValue().isEmpty());
+	}
+}
@@ -0,0 +1,161 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.dto.response.CursorPageResponseDTO;
+import com.finansys.backend.dto.response.EntryResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.exception.BadRequestException;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+/**
+ * Limites de tamanho e campos de ordenação das listagens paginadas e o cursor opaco da paginação por cursor:
+ * o cursor emitido por uma página posiciona a seguinte, e cursores malformados resultam
+ * em 400 sem consultar o banco.
+ */
+@ExtendWith(MockitoExtension.class)
+class EntryPaginationTest {
+
+	private static final Long USER_ID = 1L;
+
+	@Mock
+	private EntryRepository entryRepository;
+
+	@Mock
+	private CategoryCache categoryCache;
+
+	@Mock
+	private CurrentUser currentUser;
+
+	@InjectMocks
+	private EntryService entryService;
+
+	@Test
+	void cursorFromOnePagePositionsTheNext() {
+
+		when(currentUser.getId()).thenReturn(USER_ID);
+		when(categoryCache.findNames(eq(USER_ID), anyCollection())).thenReturn(Map.of());
+
+		Entry first = entry(30L, LocalDate.of(2026, 10, 5));
+		Entry second = entry(12L, LocalDate.of(2026, 10, 5));
+		Entry third = entry(40L, LocalDate.of(2026, 10, 1));
+
+		when(entryRepository.findByUserIdOrderByDateDescIdDesc(USER_ID, PageRequest.of(0, 3))).thenReturn(List.of(first, second, third));
+
+		CursorPageResponseDTO<EntryResponseDTO> firstPage = entryService.getEntriesByCursor(null, 2, "desc");
+
+		assertTrue(firstPage.hasNext());
+		assertEquals(List.of(30L, 12L), firstPage.content().stream().map(EntryResponseDTO::id).toList());
+
+		// A próxima página começa depois do último registro entregue (data e id)
+		when(entryRepository.findPageBeforeCursor(USER_ID, LocalDate.of(2026, 10, 5), 12L, 3)).thenReturn(List.of(third));
+
+		CursorPageResponseDTO<EntryResponseDTO> secondPage = entryService.getEntriesByCursor(firstPage.nextCursor(), 2, "desc");
+
+		assertFalse(secondPage.hasNext());
+		assertNull(secondPage.nextCursor());
+		assertEquals(List.of(40L), secondPage.content().stream().map(EntryResponseDTO::id).toList());
+	}
+
+	@Test
+	void ascendingCursorReadsAfterPosition() {
+
+		when(currentUser.getId()).thenReturn(USER_ID);
+		when(entryRepository.findPageAfterCursor(USER_ID, LocalDate.of(2026, 10, 5), 12L, 11)).thenReturn(List.of());
+
+		CursorPageResponseDTO<EntryResponseDTO> page = entryService.getEntriesByCursor(cursor("2026-10-05:12"), 10, "asc");
+
+		assertTrue(page.content().isEmpty());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void malformedCursorIsBadRequest() {
+
+		when(currentUser.getId()).thenReturn(USER_ID);
+
+		List<String> cursors = List.of(
+				"não é base64!",
+				cursor("sem-separador"),
+				cursor("2026-13-01:12"),
+				cursor("05/10/2026:12"),
+				cursor("2026-10-05:abc"),
+				cursor("2026-10-05:"),
+				cursor(":12"));
+
+		for (String cursor : cursors) {
+
+			BadRequestException exception = assertThrows(BadRequestException.class, () -> entryService.getEntriesByCursor(cursor, 10, "desc"), cursor);
+
+			assertEquals("Cursor de paginação inválido", exception.getMessage());
+		}
+
+		verifyNoInteractions(entryRepository);
+	}
+
+	@Test
+	void pageSizeOutsideLimitsIsBadRequest() {
+
+		assertThrows(BadRequestException.class, () -> entryService.getEntriesByCursor(null, 0, "desc"));
+		assertThrows(BadRequestException.class, () -> entryService.getEntriesByCursor(null, 101, "desc"));
+		assertThrows(BadRequestException.class, () -> entryService.getAllEntriesPaginated(0, 100_000, "date", "desc"));
+		assertThrows(BadRequestException.class, () -> entryService.getAllEntriesPaginated(-1, 10, "date", "desc"));
+		assertThrows(BadRequestException.class, () -> entryService.searchEntries("aluguel", 0, 101));
+
+		verifyNoInteractions(entryRepository);
+	}
+
+	@Test
+	void sortOutsideUserDateIndexIsBadRequest() {
+
+		for (String sortBy : List.of("id", "type", "paid", "categoryId")) {
+
+			assertThrows(BadRequestException.class, () -> entryService.getAllEntriesPaginated(0, 10, sortBy, "desc"), sortBy);
+		}
+
+		verifyNoInteractions(entryRepository);
+	}
+
+	private Entry entry(Long id, LocalDate date) {
+
+		return Entry.builder()
+				.id(id)
+				.name("Lançamento " + id)
+				.type("expense")
+				.amount(BigDecimal.TEN)
+				.date(date)
+				.paid(false)
+				.categoryId(1L)
+				.userId(USER_ID)
+				.build();
+	}
+
+	private String cursor(String position) {
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+}
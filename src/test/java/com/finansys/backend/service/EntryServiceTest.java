@@ -0,0 +1,176 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.finansys.backend.cache.CategoryCache;
+import com.finansys.backend.config.CategoryCacheProperties;
+import com.finansys.backend.config.PrimaryReads;
+import com.finansys.backend.dto.response.EntryResponseDTO;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Garante que as listagens de lançamentos emitem exatamente uma consulta de
+ * lançamentos e, com o cache de categorias vazio, uma consulta de categorias,
+ * independente do número de linhas.
+ */
+@ExtendWith(MockitoExtension.class)
+class EntryServiceTest {
+
+	private static final int ENTRY_COUNT = 500;
+
+	// Maior página aceita pelas listagens paginadas
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private static final Long USER_ID = 1L;
+
+	@Mock
+	private EntryRepository entryRepository;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private CurrentUser currentUser;
+
+	@InjectMocks
+	private EntryService entryService;
+
+	private List<Entry> entries;
+
+	@BeforeEach
+	void setUp() {
+
+		when(currentUser.getId()).thenReturn(USER_ID);
+
+		entries = new ArrayList<>();
+
+		for (long i = 1; i <= ENTRY_COUNT; i++) {
+
+			entries.add(Entry.builder()
+					.id(i)
+					.name("Lançamento " + i)
+					.type(i % 2 == 0 ? "revenue" : "expense")
+					.amount(BigDecimal.TEN)
+					.date(LocalDate.of(2025, 1, 1).plusDays(i))
+					.paid(i % 3 == 0)
+					.categoryId(i % 5 + 1)
+					.userId(USER_ID)
+					.build());
+		}
+
+		List<Object[]> categoryNames = new ArrayList<>();
+
+		for (long id = 1; id <= 5; id++) {
+
+			categoryNames.add(new Object[] { id, "Categoria " + id });
+		}
+
+		when(categoryRepository.findNamesByUserIdAndIdIn(eq(USER_ID), anyCollection())).thenReturn(categoryNames);
+
+		// Cache real, vazio a cada teste, sobre o repositório simulado
+		CategoryCache categoryCache = new CategoryCache();
+		ReflectionTestUtils.setField(categoryCache, "categoryRepository", categoryRepository);
+		ReflectionTestUtils.setField(categoryCache, "properties", new CategoryCacheProperties());
+		ReflectionTestUtils.setField(categoryCache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(categoryCache, "primaryReads", new PrimaryReads());
+		ReflectionTestUtils.invokeMethod(categoryCache, "init");
+		ReflectionTestUtils.setField(entryService, "categoryCache", categoryCache);
+	}
+
+	@Test
+	void getAllEntriesIssuesTwoQueries() {
+
+		when(entryRepository.findByUserId(eq(USER_ID), any(Sort.class))).thenReturn(entries);
+
+		List<EntryResponseDTO> result = entryService.getAllEntries();
+
+		assertEquals(ENTRY_COUNT, result.size());
+		assertEquals("Categoria 2", result.get(0).categoryName());
+		verify(entryRepository, times(1)).findByUserId(eq(USER_ID), any(Sort.class));
+		assertSingleCategoryQuery();
+	}
+
+	@Test
+	void getAllEntriesPaginatedIssuesTwoQueries() {
+
+		Page<Entry> page = new PageImpl<>(entries.subList(0, MAX_PAGE_SIZE));
+
+		when(entryRepository.findByUserId(eq(USER_ID), any(Pageable.class))).thenReturn(page);
+
+		Page<EntryResponseDTO> result = entryService.getAllEntriesPaginated(0, MAX_PAGE_SIZE, "date", "desc");
+
+		assertEquals(MAX_PAGE_SIZE, result.getContent().size());
+		verify(entryRepository, times(1)).findByUserId(eq(USER_ID), any(Pageable.class));
+		assertSingleCategoryQuery();
+	}
+
+	@Test
+	void getEntriesByTypeIssuesTwoQueries() {
+
+		when(entryRepository.findByUserIdAndType(USER_ID, "revenue")).thenReturn(entries);
+
+		assertEquals(ENTRY_COUNT, entryService.getEntriesByType("revenue").size());
+		verify(entryRepository, times(1)).findByUserIdAndType(USER_ID, "revenue");
+		assertSingleCategoryQuery();
+	}
+
+	@Test
+	void getEntriesByPaidStatusIssuesTwoQueries() {
+
+		when(entryRepository.findByUserIdAndPaid(USER_ID, true)).thenReturn(entries);
+
+		assertEquals(ENTRY_COUNT, entryService.getEntriesByPaidStatus(true).size());
+		verify(entryRepository, times(1)).findByUserIdAndPaid(USER_ID, true);
+		assertSingleCategoryQuery();
+	}
+
+	@Test
+	void getEntriesByDateRangeIssuesTwoQueries() {
+
+		LocalDate startDate = LocalDate.of(2025, 1, 1);
+		LocalDate endDate = LocalDate.of(2026, 12, 31);
+
+		when(entryRepository.findByUserIdAndDateBetween(USER_ID, startDate, endDate)).thenReturn(entries);
+
+		assertEquals(ENTRY_COUNT, entryService.getEntriesByDateRange(startDate, endDate).size());
+		verify(entryRepository, times(1)).findByUserIdAndDateBetween(USER_ID, startDate, endDate);
+		assertSingleCategoryQuery();
+	}
+
+	private void assertSingleCategoryQuery() {
+
+		verify(categoryRepository, times(1)).findNamesByUserIdAndIdIn(eq(USER_ID), anyCollection());
+		verify(categoryRepository, never()).findByIdAndUserId(any(), any());
+		verifyNoMoreInteractions(entryRepository, categoryRepository);
+	}
+}
@@ -0,0 +1,53 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Reconciliação dos contadores contra o banco real: enquanto outra sessão (o job de outra
+ * instância ou o endpoint de administração) detém o advisory lock, a execução é ignorada;
+ * liberado o bloqueio, ela volta a rodar. Sem transação de teste, pois a reconciliação
+ * abre as suas próprias.
+ */
+@SpringBootTest
+class RowCounterServiceTest {
+
+	private static final String LOCK_SQL = "SELECT pg_advisory_lock(hashtext('row_counters'), 0)";
+
+	private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext('row_counters'), 0)";
+
+	@Autowired
+	private RowCounterService rowCounterService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void reconcileIsSkippedWhileAnotherRunHoldsTheLock() throws Exception {
+
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+
+			statement.execute(LOCK_SQL);
+
+			try {
+
+				assertTrue(rowCounterService.reconcile().isEmpty());
+			} finally {
+
+				statement.execute(UNLOCK_SQL);
+			}
+		}
+
+		assertFalse(rowCounterService.reconcile().isEmpty());
+	}
+}
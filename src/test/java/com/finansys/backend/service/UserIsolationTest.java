@@ -0,0 +1,189 @@
+package com.finansys.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.finansys.backend.dto.request.EntryBulkRequestDTO;
+import com.finansys.backend.dto.request.EntryBulkUpdateDTO;
+import com.finansys.backend.dto.request.EntryRequestDTO;
+import com.finansys.backend.dto.response.EntryBulkItemResultDTO;
+import com.finansys.backend.dto.response.EntryBulkResponseDTO;
+import com.finansys.backend.entity.Category;
+import com.finansys.backend.entity.Entry;
+import com.finansys.backend.entity.User;
+import com.finansys.backend.repository.CategoryRepository;
+import com.finansys.backend.repository.EntryRepository;
+import com.finansys.backend.repository.UserRepository;
+import com.finansys.backend.security.CurrentUser;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Garante, contra o banco real, que lançamentos e categorias de outro usuário são tratados
+ * como inexistentes em leituras, alterações, exclusões e operações em lote. Cada teste roda
+ * em uma transação desfeita ao final.
+ */
+@SpringBootTest
+@Transactional
+class UserIsolationTest {
+
+	@Autowired
+	private EntryService entryService;
+
+	@Autowired
+	private EntryBulkService entryBulkService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EntryRepository entryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private CurrentUser currentUser;
+
+	private Category ownerCategory;
+
+	private Entry ownerEntry;
+
+	private Category intruderCategory;
+
+	@BeforeEach
+	void setUp() {
+
+		User owner = saveUser("dono");
+		User intruder = saveUser("outro");
+
+		ownerCategory = categoryRepository.save(Category.builder().name("Moradia").userId(owner.getId()).build());
+		intruderCategory = categoryRepository.save(Category.builder().name("Lazer").userId(intruder.getId()).build());
+
+		ownerEntry = entryRepository.save(Entry.builder()
+				.name("Aluguel")
+				.type("expense")
+				.amount(new BigDecimal("1500.00"))
+				.date(LocalDate.of(2026, 9, 5))
+				.paid(false)
+				.categoryId(ownerCategory.getId())
+				.userId(owner.getId())
+				.build());
+
+		// As operações abaixo são feitas pelo outro usuário
+		when(currentUser.getId()).thenReturn(intruder.getId());
+	}
+
+	@Test
+	void readsTreatOtherUsersRecordsAsNotFound() {
+
+		assertThrows(EntityNotFoundException.class, () -> entryService.getEntryById(ownerEntry.getId()));
+		assertThrows(EntityNotFoundException.class, () -> categoryService.getCategoryById(ownerCategory.getId()));
+
+		assertTrue(entryService.getEntriesByCategory(ownerCategory.getId()).isEmpty());
+		assertTrue(entryService.getAllEntries().isEmpty());
+		assertFalse(categoryService.existsById(ownerCategory.getId()));
+	}
+
+	@Test
+	void writesTreatOtherUsersRecordsAsNotFound() {
+
+		EntryRequestDTO changes = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1.00"), LocalDate.of(2026, 9, 5), true, intruderCategory.getId());
+
+		assertThrows(EntityNotFoundException.class, () -> entryService.updateEntry(ownerEntry.getId(), changes));
+		assertThrows(EntityNotFoundException.class, () -> entryService.updatePaidStatus(ownerEntry.getId(), true));
+		assertThrows(EntityNotFoundException.class, () -> entryService.deleteEntry(ownerEntry.getId()));
+
+		// Categoria de outro usuário não pode ser usada em um lançamento próprio
+		EntryRequestDTO withOwnerCategory = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1.00"), LocalDate.of(2026, 9, 5), true, ownerCategory.getId());
+
+		assertThrows(EntityNotFoundException.class, () -> entryService.createEntry(withOwnerCategory));
+
+		assertOwnerEntryUnchanged();
+	}
+
+	@Test
+	void applyBulkUpdateRejectsOtherUsersEntriesAndCategories() {
+
+		EntryRequestDTO changes = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1.00"), LocalDate.of(2026, 9, 5), true, intruderCategory.getId());
+		EntryRequestDTO withOwnerCategory = new EntryRequestDTO("Aluguel", null, "expense", new BigDecimal("1.00"), LocalDate.of(2026, 9, 5), true, ownerCategory.getId());
+
+		EntryBulkResponseDTO response = entryBulkService.applyBulk(new EntryBulkRequestDTO(
+				List.of(withOwnerCategory),
+				List.of(new EntryBulkUpdateDTO(ownerEntry.getId(), changes)),
+				null));
+
+		assertEquals(0, response.succeeded());
+		assertEquals(2, response.failed());
+
+		List<EntryBulkItemResultDTO> results = response.results();
+
+		assertEquals("Categoria não encontrada com ID: " + ownerCategory.getId(), results.get(0).message());
+		assertEquals("Lançamento não encontrado com ID: " + ownerEntry.getId(), results.get(1).message());
+
+		assertOwnerEntryUnchanged();
+	}
+
+	@Test
+	void applyBulkDeleteOfOtherUsersEntryKeepsIt() {
+
+		EntryBulkResponseDTO response = entryBulkService.applyBulk(new EntryBulkRequestDTO(null, null, List.of(ownerEntry.getId())));
+
+		assertEquals(1, response.failed());
+		assertEquals("Lançamento não encontrado com ID: " + ownerEntry.getId(), response.results().get(0).message());
+
+		assertOwnerEntryUnchanged();
+	}
+
+	@Test
+	void deleteCategoryTreatsOtherUsersCategoryAsNotFound() {
+
+		assertThrows(EntityNotFoundException.class, () -> categoryService.deleteCategory(ownerCategory.getId()));
+
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM categories WHERE id = ?", Long.class, ownerCategory.getId()));
+	}
+
+	private void assertOwnerEntryUnchanged() {
+
+		assertEquals(new BigDecimal("1500.00"), jdbcTemplate.queryForObject("SELECT amount FROM entries WHERE id = ?", BigDecimal.class, ownerEntry.getId()));
+		assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject("SELECT paid FROM entries WHERE id = ?", Boolean.class, ownerEntry.getId()));
+	}
+
+	private User saveUser(String prefix) {
+
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+		return userRepository.save(User.builder()
+				.name(prefix + "-" + suffix)
+				.email(prefix + "-" + suffix + "@finansys.com")
+				.password("$2a$10$" + "x".repeat(53))
+				.role(User.Role.USER)
+				.enabled(true)
+				.accountNonExpired(true)
+				.accountNonLocked(true)
+				.credentialsNonExpired(true)
+				.build());
+	}
+}